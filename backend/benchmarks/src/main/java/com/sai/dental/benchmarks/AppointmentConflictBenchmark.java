@@ -0,0 +1,67 @@
+package com.sai.dental.benchmarks;
+
+import com.sai.dental.dto.FreeSlot;
+import com.sai.dental.service.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class AppointmentConflictBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private AppointmentService appointmentService;
+    private final LocalDate[] dates = new LocalDate[QUERIES];
+    private final String[] doctors = new String[QUERIES];
+    private final String[] startTimes = new String[QUERIES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start("appointment-conflicts");
+        database.seedAppointments(rows);
+        appointmentService = database.bean(AppointmentService.class);
+
+        Random random = new Random(7);
+        int days = BenchmarkDatabase.seededDays(rows);
+        for (int i = 0; i < QUERIES; i++) {
+            dates[i] = BenchmarkDatabase.FIRST_DAY.plusDays(random.nextInt(days));
+            doctors[i] = BenchmarkDatabase.DOCTORS[random.nextInt(BenchmarkDatabase.DOCTORS.length)];
+            startTimes[i] = BenchmarkDatabase.time(9 * 60 + random.nextInt(BenchmarkDatabase.SLOTS_PER_DAY * 2) * 15);
+        }
+        // Touch every queried day once so the measurement covers the in-memory index, not the first load
+        for (int i = 0; i < QUERIES; i++) {
+            appointmentService.hasConflictingAppointments(dates[i], startTimes[i], null, 30, doctors[i], null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public boolean hasConflict() {
+        int i = next++ & (QUERIES - 1);
+        return appointmentService.hasConflictingAppointments(dates[i], startTimes[i], null, 30, doctors[i], null);
+    }
+
+    @Benchmark
+    public List<FreeSlot> nextFreeSlots() {
+        int i = next++ & (QUERIES - 1);
+        return appointmentService.findFreeSlots(doctors[i], dates[i], startTimes[i], 30, 5);
+    }
+}
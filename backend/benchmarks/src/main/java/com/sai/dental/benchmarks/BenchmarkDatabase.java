@@ -0,0 +1,178 @@
+package com.sai.dental.benchmarks;
+
+import com.sai.dental.SaiDentalBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the backend against a private in-memory H2 database and seeds it with
+ * deterministic rows through plain JDBC batches, so setup cost stays out of the
+ * measured methods.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    static final String[] FIRST_NAMES = {"Rajesh", "Priya", "Amit", "Sneha", "Vikram", "Anjali", "Suresh",
+            "Kavita", "Rahul", "Pooja", "Arjun", "Meera", "Sanjay", "Divya", "Karan", "Neha"};
+    static final String[] LAST_NAMES = {"Kumar", "Sharma", "Patil", "Deshmukh", "Iyer", "Reddy", "Gupta",
+            "Joshi", "Kulkarni", "Nair", "Verma", "Singh", "Mehta", "Rao", "Pawar", "Shah"};
+    static final String[] DOCTORS = {"Dr. Sai Prasad", "Dr. Snahe Funde", "Dr. Anil Rao", "Dr. Leena Shah",
+            "Dr. Omkar Joshi"};
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    static final int SLOTS_PER_DAY = 16;
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int PATIENT_ID_ALLOCATION = 50;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    private BenchmarkDatabase(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    public static BenchmarkDatabase start(String name) {
+        return new BenchmarkDatabase(new SpringApplicationBuilder(SaiDentalBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments(name)));
+    }
+
+    /**
+     * Same database setup, but with the embedded web server listening on a random port.
+     * Extra arguments override the defaults, e.g. --spring.profiles.active=virtual-threads.
+     */
+    public static BenchmarkDatabase startServer(String name, String... extraArguments) {
+        List<String> arguments = new ArrayList<>(List.of(arguments(name)));
+        arguments.add("--server.port=0");
+        arguments.add("--logging.level.com.sai.dental.requests=WARN");
+        arguments.addAll(List.of(extraArguments));
+        return new BenchmarkDatabase(new SpringApplicationBuilder(SaiDentalBackendApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(arguments.toArray(new String[0])));
+    }
+
+    private static String[] arguments(String name) {
+        return new String[] {
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--reminders.enabled=false",
+                "--reminders.gateway=log",
+                "--logging.level.root=WARN"
+        };
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    public void seedPatients(int count) {
+        String sql = "INSERT INTO patients (id, first_name, last_name, email, phone, date_of_birth, gender, " +
+                "registration_date, total_visits) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        // Patient ids come from a pooled sequence; take a range past anything Hibernate may hold
+        Long reserved = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR patients_seq", Long.class);
+        long firstId = reserved + 1;
+        LocalDateTime firstRegistration = LocalDateTime.of(2015, 1, 1, 9, 0);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            batch.add(new Object[] {
+                    firstId + i,
+                    firstName,
+                    lastName,
+                    firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@email.com",
+                    String.format("+91 9%04d %05d", random.nextInt(10_000), i % 100_000),
+                    Date.valueOf(LocalDate.of(1950 + random.nextInt(60), 1 + random.nextInt(12), 1 + random.nextInt(28))),
+                    random.nextBoolean() ? "Male" : "Female",
+                    Timestamp.valueOf(firstRegistration.plusMinutes(i * 7L)),
+                    random.nextInt(20)
+            });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE patients_seq RESTART WITH " + (firstId + count + PATIENT_ID_ALLOCATION));
+    }
+
+    /**
+     * Fills consecutive days with half-hour appointments for every doctor, leaving
+     * roughly one slot in eight free so conflict and free-slot lookups both have work to do.
+     */
+    public void seedAppointments(int count) {
+        String sql = "INSERT INTO appointments (patient_id, patient_name, doctor_name, appointment_date, " +
+                "start_time, end_time, start_minute, end_minute, start_at, type, status, duration, reminder_sent) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int seeded = 0;
+        for (int slot = 0; seeded < count; slot++) {
+            int day = slot / (SLOTS_PER_DAY * DOCTORS.length);
+            int doctor = (slot / SLOTS_PER_DAY) % DOCTORS.length;
+            int minute = 9 * 60 + (slot % SLOTS_PER_DAY) * 30;
+            if (random.nextInt(8) == 0) {
+                continue;
+            }
+            batch.add(new Object[] {
+                    1L + random.nextInt(10_000),
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    DOCTORS[doctor],
+                    Date.valueOf(FIRST_DAY.plusDays(day)),
+                    time(minute),
+                    time(minute + 30),
+                    minute,
+                    minute + 30,
+                    Timestamp.valueOf(FIRST_DAY.plusDays(day).atStartOfDay().plusMinutes(minute)),
+                    "CLEANING",
+                    "SCHEDULED",
+                    30,
+                    false
+            });
+            seeded++;
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    public static int seededDays(int appointments) {
+        return Math.max(1, appointments / (SLOTS_PER_DAY * DOCTORS.length));
+    }
+
+    static String time(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sai.dental.benchmarks;
+
+import com.sai.dental.dto.PatientCursor;
+import com.sai.dental.dto.PatientPage;
+import com.sai.dental.service.PatientService;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Timestamp;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyset pages should cost the same whether they are near the top of the
+ * registration order or deep inside it, at any table size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class PatientListingBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase database;
+    private PatientService patientService;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start("patient-listing");
+        database.seedPatients(rows);
+        patientService = database.bean(PatientService.class);
+        deepCursor = database.jdbc().queryForObject(
+                "SELECT registration_date, id FROM patients ORDER BY registration_date DESC, id DESC OFFSET ? ROWS FETCH FIRST 1 ROWS ONLY",
+                (rs, rowNum) -> new PatientCursor(rs.getObject(1, Timestamp.class).toLocalDateTime(), rs.getLong(2)).encode(),
+                rows * 9 / 10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public PatientPage firstPage() {
+        return patientService.getPatientPage(null, PatientService.DEFAULT_PAGE_SIZE, Set.of());
+    }
+
+    @Benchmark
+    public PatientPage deepPage() {
+        return patientService.getPatientPage(deepCursor, PatientService.DEFAULT_PAGE_SIZE, Set.of());
+    }
+
+    @Benchmark
+    public PatientPage deepPageExpanded() {
+        return patientService.getPatientPage(deepCursor, PatientService.DEFAULT_PAGE_SIZE,
+                Set.of("medicalHistory", "allergies"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.sai.dental.benchmarks;
+
+import com.sai.dental.entity.Patient;
+import com.sai.dental.service.PatientSearchIndex;
+import com.sai.dental.service.PatientService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class PatientSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"kum", "priya.sharma", "98765"})
+    public String term;
+
+    private BenchmarkDatabase database;
+    private PatientService patientService;
+    private PatientSearchIndex patientSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start("patient-search");
+        database.seedPatients(rows);
+        patientSearchIndex = database.bean(PatientSearchIndex.class);
+        patientSearchIndex.rebuild();
+        patientService = database.bean(PatientService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Long> indexLookup() {
+        return patientSearchIndex.search(term, 20);
+    }
+
+    @Benchmark
+    public List<Patient> searchPatients() {
+        return patientService.searchPatients(term, 20);
+    }
+}
@@ -0,0 +1,188 @@
+package com.sai.dental.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load test that runs the same request mix against the backend in
+ * platform-thread mode and in virtual-thread mode and prints throughput and latency
+ * percentiles side by side. One request in five sends a reminder through the logging
+ * gateway with an artificial delay, standing in for the outbound WhatsApp call that
+ * holds a request thread in production.
+ *
+ * Tuning via system properties: loadtest.clients, loadtest.warmup-seconds,
+ * loadtest.seconds, loadtest.gateway-delay-ms, loadtest.tomcat-threads.
+ * Virtual-thread mode needs Java 21; on older JVMs only platform mode runs.
+ */
+public final class ThreadingModeLoadTest {
+
+    private static final int PATIENTS = 10_000;
+    private static final int APPOINTMENTS = 20_000;
+
+    private final int clients = Integer.getInteger("loadtest.clients", 400);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int seconds = Integer.getInteger("loadtest.seconds", 30);
+    private final int gatewayDelayMs = Integer.getInteger("loadtest.gateway-delay-ms", 200);
+    private final int tomcatThreads = Integer.getInteger("loadtest.tomcat-threads", 200);
+
+    public static void main(String[] args) throws Exception {
+        new ThreadingModeLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(measure("platform"));
+        if (Runtime.version().feature() >= 21) {
+            results.add(measure("virtual"));
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + ": skipping virtual-thread mode (needs 21+)");
+        }
+
+        System.out.printf("%n%d clients, %d s measured, gateway delay %d ms, %d Tomcat threads%n",
+                clients, seconds, gatewayDelayMs, tomcatThreads);
+        System.out.printf("%-10s %12s %10s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.1f %10.1f %10.1f %10d%n", result.mode, result.throughput,
+                    result.percentile(50), result.percentile(99), result.percentile(100), result.errors);
+        }
+    }
+
+    private Result measure(String mode) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--reminders.log-gateway.delay-ms=" + gatewayDelayMs,
+                "--reminders.rate-per-second=100000",
+                "--reminders.burst=100000",
+                "--server.tomcat.threads.max=" + tomcatThreads));
+        if (mode.equals("virtual")) {
+            arguments.add("--spring.profiles.active=virtual-threads");
+        }
+        try (BenchmarkDatabase database = BenchmarkDatabase.startServer("loadtest-" + mode,
+                arguments.toArray(new String[0]))) {
+            database.seedPatients(PATIENTS);
+            database.seedAppointments(APPOINTMENTS);
+            String baseUrl = "http://localhost:" + database.port();
+
+            run(baseUrl, warmupSeconds);
+            return new Result(mode, run(baseUrl, seconds), seconds);
+        }
+    }
+
+    // Each client issues its next request as soon as the previous one completes
+    private Samples run(String baseUrl, int durationSeconds) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<Future<Samples>> futures = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Random random = new Random(i);
+            futures.add(pool.submit(() -> {
+                Samples samples = new Samples();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = nextRequest(baseUrl, random);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        samples.add(System.nanoTime() - start, response.statusCode() < 400);
+                    } catch (IOException e) {
+                        samples.add(System.nanoTime() - start, false);
+                    }
+                }
+                return samples;
+            }));
+        }
+        Samples all = new Samples();
+        for (Future<Samples> future : futures) {
+            all.addAll(future.get());
+        }
+        pool.shutdown();
+        return all;
+    }
+
+    private HttpRequest nextRequest(String baseUrl, Random random) {
+        int pick = random.nextInt(10);
+        if (pick >= 8) {
+            String path = "/api/appointments/" + (1 + random.nextInt(APPOINTMENTS)) + "/send-reminder";
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+        }
+        String path;
+        if (pick < 4) {
+            path = "/api/patients/page?size=20";
+        } else if (pick < 7) {
+            LocalDate date = BenchmarkDatabase.FIRST_DAY.plusDays(
+                    random.nextInt(BenchmarkDatabase.seededDays(APPOINTMENTS)));
+            String doctor = BenchmarkDatabase.DOCTORS[random.nextInt(BenchmarkDatabase.DOCTORS.length)];
+            int minute = 9 * 60 + 30 * random.nextInt(BenchmarkDatabase.SLOTS_PER_DAY);
+            path = "/api/appointments/check-conflict?date=" + date
+                    + "&startTime=" + BenchmarkDatabase.time(minute)
+                    + "&doctorName=" + doctor.replace(" ", "%20");
+        } else {
+            path = "/api/dashboard/summary";
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private static final class Samples {
+        long[] nanos = new long[1024];
+        int count;
+        int errors;
+
+        void add(long latency, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], true);
+            }
+            errors += other.errors;
+        }
+    }
+
+    private static final class Result {
+        final String mode;
+        final double throughput;
+        final long[] sorted;
+        final int errors;
+
+        Result(String mode, Samples samples, int seconds) {
+            this.mode = mode;
+            this.throughput = samples.count / (double) seconds;
+            this.sorted = Arrays.copyOf(samples.nanos, samples.count);
+            Arrays.sort(sorted);
+            this.errors = samples.errors;
+        }
+
+        double percentile(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
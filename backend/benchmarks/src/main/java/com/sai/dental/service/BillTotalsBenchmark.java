@@ -0,0 +1,49 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.Bill;
+import com.sai.dental.entity.BillItem;
+import com.sai.dental.entity.ServiceCategory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the service package because calculateBillTotals is package-private.
+ * Pure computation, so no database is started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillTotalsBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int items;
+
+    private final BillService billService = new BillService();
+    private Bill bill;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bill = new Bill();
+        bill.setDiscount(BigDecimal.valueOf(100));
+        for (int i = 0; i < items; i++) {
+            BillItem item = new BillItem();
+            item.setDescription("Item " + i);
+            item.setCategory(ServiceCategory.values()[i % ServiceCategory.values().length]);
+            item.setQuantity(1 + i % 3);
+            item.setUnitPrice(BigDecimal.valueOf(500 + i * 250L));
+            item.calculateTotal();
+            bill.addItem(item);
+        }
+    }
+
+    @Benchmark
+    public Bill calculateBillTotals() {
+        billService.calculateBillTotals(bill);
+        return bill;
+    }
+}
@@ -0,0 +1,178 @@
+package com.sai.dental.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sai.dental.SaiDentalBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the backend on a private in-memory H2 database filled by the synthetic seeding
+ * mode, drives the front-desk workload at a fixed arrival rate, prints throughput and
+ * p50/p95/p99 per endpoint and exits non-zero when any committed SLO is missed, which
+ * fails {@code mvn verify} in this module.
+ *
+ * Journeys are started on a fixed schedule rather than as fast as a closed pool of
+ * clients allows, so a slow server cannot quietly lower the offered load and hide its
+ * own tail latency.
+ *
+ * Tuning via system properties: loadtest.patients, loadtest.years, loadtest.rate
+ * (journeys per second), loadtest.users, loadtest.warmup-seconds, loadtest.seconds,
+ * loadtest.slo, loadtest.report.
+ */
+public final class ApiLoadTest {
+
+    private final int patients = Integer.getInteger("loadtest.patients", 10_000);
+    private final int years = Integer.getInteger("loadtest.years", 2);
+    private final int rate = Integer.getInteger("loadtest.rate", 40);
+    private final int users = Integer.getInteger("loadtest.users", 64);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 20);
+    private final int seconds = Integer.getInteger("loadtest.seconds", 60);
+    private final Path sloFile = Path.of(System.getProperty("loadtest.slo", "slo.properties"));
+    private final Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+    public static void main(String[] args) throws Exception {
+        List<String> violations = new ApiLoadTest().run();
+        // Exit explicitly: the exit code is what fails the build
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    private List<String> run() throws Exception {
+        SloThresholds thresholds = new SloThresholds(sloFile);
+        try (ConfigurableApplicationContext context = start()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String baseUrl = "http://localhost:" + port;
+            FrontDeskWorkload workload = new FrontDeskWorkload(baseUrl, context.getBean(JdbcTemplate.class),
+                    context.getBean(ObjectMapper.class));
+
+            drive(workload, warmupSeconds, new LatencyRecorder(), 1);
+            LatencyRecorder recorder = new LatencyRecorder();
+            int completed = drive(workload, seconds, recorder, 2);
+
+            Map<String, LatencyRecorder.Stats> endpoints = recorder.snapshot(seconds);
+            double offered = (double) rate * seconds;
+            List<String> violations = thresholds.check(endpoints, offered, completed);
+            print(endpoints, thresholds, offered, completed, violations);
+            writeReport(endpoints, offered, completed, violations);
+            return violations;
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(SaiDentalBackendApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--server.port=0",
+                        "--seed.patients=" + patients,
+                        "--seed.years=" + years,
+                        "--reminders.enabled=false",
+                        "--reminders.gateway=log",
+                        "--billing.overdue.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.sai.dental.requests=WARN");
+    }
+
+    // Returns the number of journeys that completed without a failed request
+    private int drive(FrontDeskWorkload workload, int durationSeconds, LatencyRecorder recorder, long seed)
+            throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        SplittableRandom random = new SplittableRandom(seed);
+        AtomicInteger completed = new AtomicInteger();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long journeys = (long) rate * durationSeconds;
+        for (long i = 0; i < journeys; i++) {
+            long intendedStart = start + i * interval;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            SplittableRandom journeyRandom = random.split();
+            pool.execute(() -> {
+                if (workload.run(journeyRandom, intendedStart, recorder)) {
+                    completed.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(60, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+        return completed.get();
+    }
+
+    private void print(Map<String, LatencyRecorder.Stats> endpoints, SloThresholds thresholds, double offered,
+                       int completed, List<String> violations) {
+        System.out.printf("%n%d patients over %d years, %d journeys/s offered for %d s, %d users%n",
+                patients, years, rate, seconds, users);
+        System.out.printf("%-26s %9s %9s %16s %16s %16s %9s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms (slo)", "p95 ms (slo)", "p99 ms (slo)", "max ms", "errors");
+        endpoints.forEach((endpoint, stats) -> System.out.printf("%-26s %9d %9.1f %16s %16s %16s %9.1f %7d%n",
+                endpoint, stats.requests, stats.throughput,
+                withBound(stats.p50, thresholds.bound(endpoint, "p50")),
+                withBound(stats.p95, thresholds.bound(endpoint, "p95")),
+                withBound(stats.p99, thresholds.bound(endpoint, "p99")),
+                stats.max, stats.errors));
+        System.out.printf("%d of %.0f journeys completed%n", completed, offered);
+        if (violations.isEmpty()) {
+            System.out.println("All SLOs met");
+        } else {
+            System.out.println("SLO violations:");
+            violations.forEach(violation -> System.out.println("  " + violation));
+        }
+    }
+
+    private static String withBound(double value, Double bound) {
+        return bound != null ? String.format("%.1f (%.0f)", value, bound) : String.format("%.1f", value);
+    }
+
+    private void writeReport(Map<String, LatencyRecorder.Stats> endpoints, double offered, int completed,
+                             List<String> violations) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("patients", patients);
+        report.put("years", years);
+        report.put("rate", rate);
+        report.put("users", users);
+        report.put("seconds", seconds);
+        report.put("offeredJourneys", offered);
+        report.put("completedJourneys", completed);
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", stats.requests);
+            values.put("errors", stats.errors);
+            values.put("throughput", stats.throughput);
+            values.put("p50", stats.p50);
+            values.put("p95", stats.p95);
+            values.put("p99", stats.p99);
+            values.put("max", stats.max);
+            perEndpoint.put(endpoint, values);
+        });
+        report.put("endpoints", perEndpoint);
+        report.put("violations", new ArrayList<>(violations));
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        System.out.println("Report written to " + reportFile);
+    }
+}
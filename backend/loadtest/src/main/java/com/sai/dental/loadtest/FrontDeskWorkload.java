@@ -0,0 +1,197 @@
+package com.sai.dental.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request journeys a clinic's front desk produces, weighted roughly as observed:
+ * looking a patient up and opening the record, browsing the calendar, checking a
+ * patient out (create the bill, then mark it paid) and recording a payment against
+ * an open bill. Ids, names and dates are sampled from the seeded database so every
+ * request hits real rows.
+ */
+final class FrontDeskWorkload {
+
+    private static final int SEARCH_WEIGHT = 40;
+    private static final int CALENDAR_WEIGHT = 30;
+    private static final int CHECKOUT_WEIGHT = 15;
+    private static final int CALENDAR_DAYS_BACK = 120;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final List<Map<String, Object>> patients;
+    private final List<Long> openBillIds;
+    private final List<Map<String, Object>> services;
+    private final LocalDate lastAppointmentDate;
+    private final String runTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    FrontDeskWorkload(String baseUrl, JdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.patients = jdbc.queryForList("SELECT id, first_name, last_name FROM patients ORDER BY id");
+        this.openBillIds = jdbc.queryForList(
+                "SELECT id FROM bills WHERE status IN ('SENT', 'PARTIAL', 'OVERDUE') ORDER BY id", Long.class);
+        this.services = jdbc.queryForList("SELECT name, category, default_price FROM service_templates ORDER BY id");
+        LocalDate last = jdbc.queryForObject("SELECT MAX(appointment_date) FROM appointments", LocalDate.class);
+        this.lastAppointmentDate = last != null ? last : LocalDate.now();
+        if (patients.isEmpty() || openBillIds.isEmpty() || services.isEmpty()) {
+            throw new IllegalStateException("Seeded database has no patients, open bills or service templates");
+        }
+    }
+
+    /**
+     * Runs one journey. The first request is timed from {@code intendedStart}, so time
+     * spent waiting for a free user when the server falls behind counts as latency.
+     * Returns false if any request in the journey failed.
+     */
+    boolean run(SplittableRandom random, long intendedStart, LatencyRecorder recorder) {
+        int pick = random.nextInt(100);
+        if (pick < SEARCH_WEIGHT) {
+            return searchAndOpen(random, intendedStart, recorder);
+        } else if (pick < SEARCH_WEIGHT + CALENDAR_WEIGHT) {
+            return browseCalendar(random, intendedStart, recorder);
+        } else if (pick < SEARCH_WEIGHT + CALENDAR_WEIGHT + CHECKOUT_WEIGHT) {
+            return checkout(random, intendedStart, recorder);
+        }
+        return recordPayment(random, intendedStart, recorder);
+    }
+
+    private boolean searchAndOpen(SplittableRandom random, long intendedStart, LatencyRecorder recorder) {
+        Map<String, Object> patient = patients.get(random.nextInt(patients.size()));
+        String name = (String) patient.get(random.nextBoolean() ? "first_name" : "last_name");
+        // Receptionists type the first few letters and pick from the suggestions
+        String term = name.substring(0, Math.min(name.length(), 3 + random.nextInt(3)));
+        HttpResponse<String> results = send("patient-search",
+                get("/api/patients/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8)),
+                intendedStart, recorder);
+        if (results == null) {
+            return false;
+        }
+        JsonNode first = read(results).path(0).path("id");
+        long id = first.isNumber() ? first.asLong() : ((Number) patient.get("id")).longValue();
+        return send("patient-get", get("/api/patients/" + id), System.nanoTime(), recorder) != null;
+    }
+
+    private boolean browseCalendar(SplittableRandom random, long intendedStart, LatencyRecorder recorder) {
+        LocalDate day = lastAppointmentDate.minusDays(random.nextInt(CALENDAR_DAYS_BACK));
+        // Two views in three are a single day, the rest a week
+        LocalDate end = random.nextInt(3) < 2 ? day : day.plusDays(6);
+        return send("appointments-date-range",
+                get("/api/appointments/date-range?startDate=" + day + "&endDate=" + end),
+                intendedStart, recorder) != null;
+    }
+
+    private boolean checkout(SplittableRandom random, long intendedStart, LatencyRecorder recorder) {
+        Map<String, Object> patient = patients.get(random.nextInt(patients.size()));
+        ObjectNode bill = objectMapper.createObjectNode();
+        bill.put("patientId", ((Number) patient.get("id")).longValue());
+        bill.put("patientName", patient.get("first_name") + " " + patient.get("last_name"));
+        // Bill numbers are validated before the allocator runs, so the client supplies one
+        bill.put("billNumber", "LT-" + runTag + "-" + sequence.incrementAndGet());
+        bill.put("issueDate", LocalDate.now().toString());
+        bill.put("dueDate", LocalDate.now().plusDays(30).toString());
+        bill.put("status", "SENT");
+        ArrayNode items = bill.putArray("items");
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int itemCount = 1 + random.nextInt(3);
+        for (int i = 0; i < itemCount; i++) {
+            Map<String, Object> service = services.get(random.nextInt(services.size()));
+            BigDecimal price = (BigDecimal) service.get("default_price");
+            ObjectNode item = items.addObject();
+            item.put("description", (String) service.get("name"));
+            item.put("category", (String) service.get("category"));
+            item.put("quantity", 1);
+            item.put("unitPrice", price);
+            item.put("total", price);
+            subtotal = subtotal.add(price);
+        }
+        BigDecimal tax = subtotal.multiply(BigDecimal.valueOf(0.18)).setScale(2, RoundingMode.HALF_UP);
+        bill.put("subtotal", subtotal);
+        bill.put("tax", tax);
+        bill.put("discount", BigDecimal.ZERO);
+        bill.put("total", subtotal.add(tax));
+
+        HttpResponse<String> created = send("bill-create", post("/api/bills", bill.toString()), intendedStart, recorder);
+        if (created == null) {
+            return false;
+        }
+        long id = read(created).path("id").asLong();
+        return send("bill-mark-paid", post("/api/bills/" + id + "/mark-paid?paymentMethod=CASH", null),
+                System.nanoTime(), recorder) != null;
+    }
+
+    private boolean recordPayment(SplittableRandom random, long intendedStart, LatencyRecorder recorder) {
+        ObjectNode payment = objectMapper.createObjectNode();
+        payment.put("billId", openBillIds.get(random.nextInt(openBillIds.size())));
+        payment.put("amount", BigDecimal.valueOf(100 + random.nextInt(20) * 50L));
+        payment.put("method", random.nextBoolean() ? "DEBIT_CARD" : "CASH");
+        payment.put("date", LocalDateTime.now().withNano(0).toString());
+        payment.put("reference", "LT-PAY-" + runTag + "-" + sequence.incrementAndGet());
+        return send("payment-create", post("/api/payments", payment.toString()), intendedStart, recorder) != null;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (json == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // Returns null (after recording the failure) for transport errors and non-2xx responses
+    private HttpResponse<String> send(String endpoint, HttpRequest request, long start, LatencyRecorder recorder) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, ok);
+            return ok ? response : null;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private JsonNode read(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            return objectMapper.missingNode();
+        }
+    }
+}
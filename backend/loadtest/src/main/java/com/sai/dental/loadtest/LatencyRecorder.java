@@ -0,0 +1,83 @@
+package com.sai.dental.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects raw request latencies per endpoint. Runs are short enough that keeping
+ * every sample and sorting once at the end is cheaper and more exact than a histogram.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new TreeMap<>();
+
+    synchronized void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, ok);
+    }
+
+    synchronized Map<String, Stats> snapshot(double seconds) {
+        Map<String, Stats> stats = new TreeMap<>();
+        endpoints.forEach((endpoint, samples) -> stats.put(endpoint, new Stats(samples, seconds)));
+        return stats;
+    }
+
+    private static final class Samples {
+        long[] nanos = new long[1024];
+        int count;
+        int errors;
+
+        void add(long latency, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+
+    static final class Stats {
+        final int requests;
+        final int errors;
+        final double throughput;
+        final double p50;
+        final double p95;
+        final double p99;
+        final double max;
+
+        private Stats(Samples samples, double seconds) {
+            long[] sorted = Arrays.copyOf(samples.nanos, samples.count);
+            Arrays.sort(sorted);
+            this.requests = samples.count;
+            this.errors = samples.errors;
+            this.throughput = samples.count / seconds;
+            this.p50 = percentile(sorted, 50);
+            this.p95 = percentile(sorted, 95);
+            this.p99 = percentile(sorted, 99);
+            this.max = percentile(sorted, 100);
+        }
+
+        double percentile(String name) {
+            switch (name) {
+                case "p50":
+                    return p50;
+                case "p95":
+                    return p95;
+                case "p99":
+                    return p99;
+                default:
+                    throw new IllegalArgumentException("Unknown percentile: " + name);
+            }
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sai.dental.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The committed latency and error budgets from slo.properties, checked against the
+ * results of one run. Each check that fails becomes one line in the returned list.
+ */
+final class SloThresholds {
+
+    private static final String[] PERCENTILES = {"p50", "p95", "p99"};
+
+    private final Properties properties = new Properties();
+
+    SloThresholds(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+    }
+
+    Double bound(String endpoint, String percentile) {
+        String value = properties.getProperty(endpoint + "." + percentile);
+        return value != null ? Double.valueOf(value.trim()) : null;
+    }
+
+    List<String> check(Map<String, LatencyRecorder.Stats> endpoints, double offeredJourneys, int completedJourneys) {
+        List<String> violations = new ArrayList<>();
+        int requests = 0;
+        int errors = 0;
+        for (Map.Entry<String, LatencyRecorder.Stats> entry : endpoints.entrySet()) {
+            LatencyRecorder.Stats stats = entry.getValue();
+            requests += stats.requests;
+            errors += stats.errors;
+            for (String percentile : PERCENTILES) {
+                Double bound = bound(entry.getKey(), percentile);
+                if (bound != null && stats.percentile(percentile) > bound) {
+                    violations.add(String.format(Locale.ROOT, "%s %s %.1f ms exceeds %.1f ms",
+                            entry.getKey(), percentile, stats.percentile(percentile), bound));
+                }
+            }
+        }
+        // An endpoint with a bound but no samples means its scenario silently stopped running
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.lastIndexOf('.');
+            if (dot > 0 && List.of(PERCENTILES).contains(key.substring(dot + 1))
+                    && !endpoints.containsKey(key.substring(0, dot))) {
+                violations.add(key.substring(0, dot) + " has an SLO but received no requests");
+            }
+        }
+
+        double maxErrorRate = Double.parseDouble(properties.getProperty("max-error-rate", "0"));
+        double errorRate = requests == 0 ? 1 : errors / (double) requests;
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "error rate %.4f exceeds %.4f (%d of %d requests)",
+                    errorRate, maxErrorRate, errors, requests));
+        }
+        double minRatio = Double.parseDouble(properties.getProperty("min-throughput-ratio", "0"));
+        if (completedJourneys < offeredJourneys * minRatio) {
+            violations.add(String.format(Locale.ROOT,
+                    "completed %d of %.0f offered journeys (below %.0f%%): the server could not keep up",
+                    completedJourneys, offeredJourneys, minRatio * 100));
+        }
+        return violations;
+    }
+}
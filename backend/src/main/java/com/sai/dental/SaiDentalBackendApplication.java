@@ -1,5 +1,7 @@
 package com.sai.dental;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
@@ -8,10 +10,11 @@ import org.springframework.context.annotation.ComponentScan;
 @ComponentScan(basePackages = "com.sai.dental")
 public class SaiDentalBackendApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(SaiDentalBackendApplication.class);
+
     public static void main(String[] args) {
-        System.out.println("Starting Sai Dental Backend Application...");
         SpringApplication.run(SaiDentalBackendApplication.class, args);
-        System.out.println("Application started successfully!");
+        log.info("Sai Dental Backend Application started");
     }
 
 }
@@ -0,0 +1,42 @@
+package com.sai.dental.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Streamed responses (the exports) run their queries on the MVC async executor after the
+ * request thread has already left {@link RequestTimingFilter}. This counts the SQL of that
+ * part on the async thread itself and hands the figures to the filter as request attributes.
+ */
+@Configuration
+public class AsyncSqlCountingConfig implements WebMvcConfigurer {
+
+    static final String STATEMENTS_ATTRIBUTE = AsyncSqlCountingConfig.class.getName() + ".statements";
+    static final String SQL_NANOS_ATTRIBUTE = AsyncSqlCountingConfig.class.getName() + ".sqlNanos";
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+                SqlStatementCounter.reset();
+            }
+
+            // Runs on the async thread even when the task fails, so its counters never outlive the request
+            @Override
+            public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+                request.setAttribute(STATEMENTS_ATTRIBUTE, SqlStatementCounter.current(),
+                        RequestAttributes.SCOPE_REQUEST);
+                request.setAttribute(SQL_NANOS_ATTRIBUTE, SqlStatementCounter.currentExecutionNanos(),
+                        RequestAttributes.SCOPE_REQUEST);
+                SqlStatementCounter.clear();
+            }
+        });
+    }
+}
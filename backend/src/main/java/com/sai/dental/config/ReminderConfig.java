@@ -0,0 +1,43 @@
+package com.sai.dental.config;
+
+import com.sai.dental.service.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class ReminderConfig {
+
+    @Bean("reminderExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor platformReminderExecutor(@Value("${reminders.concurrency:8}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("reminder-");
+        return executor;
+    }
+
+    // One virtual thread per delivery; the limit still caps how many calls are in flight at once
+    @Bean("reminderExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualReminderExecutor(@Value("${reminders.concurrency:8}") int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("reminder-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrency);
+        return executor;
+    }
+
+    @Bean
+    public TokenBucketRateLimiter reminderRateLimiter(@Value("${reminders.rate-per-second:20}") double ratePerSecond,
+                                                      @Value("${reminders.burst:20}") int burst) {
+        return new TokenBucketRateLimiter(ratePerSecond, burst);
+    }
+}
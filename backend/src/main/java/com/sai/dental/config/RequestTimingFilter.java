@@ -0,0 +1,141 @@
+package com.sai.dental.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Logs one structured line per API request with the matched endpoint pattern, status,
+ * latency, SQL statement count and SQL execution time, and flags requests that issue
+ * more SQL statements than the configured budget (how an N+1 regression on a list
+ * endpoint shows up). The SQL figures are also recorded as per-endpoint meters next
+ * to Spring's own http.server.requests latency histogram.
+ */
+@Component
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final String REQUEST_ID = "requestId";
+
+    private static final Logger requestLog = LoggerFactory.getLogger("com.sai.dental.requests");
+    private static final Logger log = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${diagnostics.sql.max-statements-per-request:10}")
+    private int maxStatementsPerRequest;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > 64) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID, requestId);
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.current();
+            long sqlNanos = SqlStatementCounter.currentExecutionNanos();
+            SqlStatementCounter.clear();
+            MDC.remove(REQUEST_ID);
+            if (request.isAsyncStarted()) {
+                // Streamed responses finish on another thread; time them to completion
+                String asyncRequestId = requestId;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        // Adds what the async part ran, as counted on its own thread by AsyncSqlCountingConfig
+                        Object asyncStatements = request.getAttribute(AsyncSqlCountingConfig.STATEMENTS_ATTRIBUTE);
+                        Object asyncSqlNanos = request.getAttribute(AsyncSqlCountingConfig.SQL_NANOS_ATTRIBUTE);
+                        record(request, response, asyncRequestId, start,
+                                statements + (asyncStatements instanceof Integer count ? count : 0),
+                                sqlNanos + (asyncSqlNanos instanceof Long nanos ? nanos : 0L));
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, response, requestId, start, statements, sqlNanos);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, String requestId, long start,
+                        int statements, long sqlNanos) {
+        long durationMicros = (System.nanoTime() - start) / 1_000;
+        String endpoint = endpoint(request);
+        DistributionSummary.builder("api.request.sql.statements")
+                .description("SQL statements issued per API request")
+                .tags("method", request.getMethod(), "uri", endpoint)
+                .register(meterRegistry)
+                .record(statements);
+        Timer.builder("api.request.sql.time")
+                .description("JDBC execution time per API request")
+                .tags("method", request.getMethod(), "uri", endpoint)
+                .register(meterRegistry)
+                .record(sqlNanos, TimeUnit.NANOSECONDS);
+        MDC.put(REQUEST_ID, requestId);
+        try {
+            requestLog.info("{} {} {} {} {} {}",
+                    kv("method", request.getMethod()),
+                    kv("endpoint", endpoint),
+                    kv("status", response.getStatus()),
+                    kv("durationMs", durationMicros / 1_000.0),
+                    kv("sqlStatements", statements),
+                    kv("sqlTimeMs", sqlNanos / 1_000_000.0));
+            if (statements > maxStatementsPerRequest) {
+                log.warn("{} {} issued {} SQL statements (budget {})",
+                        request.getMethod(), request.getRequestURI(), statements, maxStatementsPerRequest);
+            }
+        } finally {
+            MDC.remove(REQUEST_ID);
+        }
+    }
+
+    // The route template keeps ids out of the endpoint name, e.g. /api/patients/{id}
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMATCHED";
+    }
+}
@@ -0,0 +1,30 @@
+package com.sai.dental.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Tables are still created and extended by Hibernate (ddl-auto=update) while indexes and
+ * other tuning live in Flyway migrations. Spring Boot would run Flyway before Hibernate,
+ * when a fresh database has no tables to index yet, so the boot-time migration is
+ * skipped and run once the EntityManagerFactory has updated the schema instead.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigration() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean flywayMigrateAfterHibernate(Flyway flyway) {
+        return flyway::migrate;
+    }
+}
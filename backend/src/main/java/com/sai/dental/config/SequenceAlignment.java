@@ -0,0 +1,54 @@
+package com.sai.dental.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tables that started out with IDENTITY ids already hold rows when their pooled
+ * sequence is first created, so the sequence is moved past the current maximum
+ * id (plus one allocation block). Runners start after the web server, so at boot
+ * a sequence is only restarted when its next block would overlap existing ids;
+ * restarting one that is already ahead would hand out ids a pooled optimizer
+ * in a running request may still hold.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SequenceAlignment implements CommandLineRunner {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        align(false);
+    }
+
+    // Called after rows were written with explicit ids, e.g. by the synthetic data seeder, before any JPA writes
+    public void alignAll() {
+        align(true);
+    }
+
+    private void align(boolean always) {
+        align("patients", "patients_seq", always);
+        align("bills", "bills_seq", always);
+        align("bill_items", "bill_items_seq", always);
+    }
+
+    private void align(String table, String sequence, boolean always) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long highest = maxId != null ? maxId : 0;
+        // The next block the pooled optimizer takes ends at the sequence's next value
+        Long nextValue = jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES " +
+                "WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND UPPER(SEQUENCE_NAME) = UPPER(?)", Long.class, sequence);
+        if (!always && nextValue != null && nextValue - ALLOCATION_SIZE >= highest) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (highest + ALLOCATION_SIZE + 1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.sai.dental.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and, together
+ * with {@link SqlTimingListener}, the time spent executing them.
+ * Registered through hibernate.session_factory.statement_inspector, so Hibernate
+ * creates its own instance; the counters therefore live in a static ThreadLocal.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTERS = ThreadLocal.withInitial(() -> new long[2]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTERS.get()[0]++;
+        return sql;
+    }
+
+    static void addExecutionTime(long nanos) {
+        COUNTERS.get()[1] += nanos;
+    }
+
+    public static void reset() {
+        long[] counters = COUNTERS.get();
+        counters[0] = 0;
+        counters[1] = 0;
+    }
+
+    public static int current() {
+        return (int) COUNTERS.get()[0];
+    }
+
+    public static long currentExecutionNanos() {
+        return COUNTERS.get()[1];
+    }
+
+    public static void clear() {
+        COUNTERS.remove();
+    }
+}
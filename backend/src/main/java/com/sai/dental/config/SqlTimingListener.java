@@ -0,0 +1,34 @@
+package com.sai.dental.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC execution time (single statements and batches) to the current thread's
+ * {@link SqlStatementCounter}. Hibernate creates one instance per session through
+ * hibernate.session.events.auto, and a session is only used by one thread at a time.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.addExecutionTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.addExecutionTime(System.nanoTime() - batchStart);
+    }
+}
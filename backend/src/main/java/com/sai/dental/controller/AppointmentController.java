@@ -1,16 +1,24 @@
 package com.sai.dental.controller;
 
+import com.sai.dental.dto.BulkStatusRequest;
+import com.sai.dental.dto.BulkStatusResult;
+import com.sai.dental.dto.CalendarDay;
+import com.sai.dental.dto.FreeSlot;
+import com.sai.dental.dto.ReminderDispatchResult;
 import com.sai.dental.entity.Appointment;
 import com.sai.dental.entity.AppointmentStatus;
 import com.sai.dental.service.AppointmentService;
+import com.sai.dental.service.ReminderDeliveryException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -84,17 +92,55 @@ public class AppointmentController {
         return appointmentService.getAppointmentsByDateRange(startDate, endDate);
     }
 
+    @GetMapping("/calendar")
+    public ResponseEntity<List<CalendarDay>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            return ResponseEntity.ok(appointmentService.getCalendar(startDate, endDate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/status/{status}")
     public List<Appointment> getAppointmentsByStatus(@PathVariable AppointmentStatus status) {
         return appointmentService.getAppointmentsByStatus(status);
     }
 
+    @PostMapping("/bulk-status")
+    public ResponseEntity<BulkStatusResult> updateStatuses(@RequestBody BulkStatusRequest<AppointmentStatus> request) {
+        try {
+            return ResponseEntity.ok(appointmentService.updateStatuses(request.getIds(), request.getStatus()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/date/{date}/status")
+    public ResponseEntity<BulkStatusResult> updateStatusesForDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam AppointmentStatus status,
+            @RequestParam(required = false) Set<AppointmentStatus> from) {
+        try {
+            return ResponseEntity.ok(appointmentService.updateStatusesForDate(date, status, from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/send-reminder")
-    public ResponseEntity<Appointment> sendReminder() {
-    	Long id =null;
+    public ReminderDispatchResult sendDueReminders() {
+        return appointmentService.sendDueReminders();
+    }
+
+    @PostMapping("/{id}/send-reminder")
+    public ResponseEntity<Appointment> sendReminder(@PathVariable Long id) {
         try {
             Appointment appointment = appointmentService.sendReminder(id);
             return ResponseEntity.ok(appointment);
+        } catch (ReminderDeliveryException e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -103,8 +149,33 @@ public class AppointmentController {
     @GetMapping("/check-conflict")
     public ResponseEntity<Boolean> checkConflictingAppointments(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam String startTime) {
-        boolean hasConflict = appointmentService.hasConflictingAppointments(date, startTime);
-        return ResponseEntity.ok(hasConflict);
+            @RequestParam String startTime,
+            @RequestParam(required = false) String endTime,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false) String doctorName,
+            @RequestParam(required = false) Long excludeId) {
+        try {
+            boolean hasConflict = appointmentService.hasConflictingAppointments(
+                    date, startTime, endTime, duration, doctorName, excludeId);
+            return ResponseEntity.ok(hasConflict);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @RequestParam String doctorName,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) String startTime,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "5") int count) {
+        try {
+            List<FreeSlot> slots = appointmentService.findFreeSlots(
+                    doctorName, from, startTime, duration, Math.min(count, 50));
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.sai.dental.controller;
+
+import com.sai.dental.entity.PatientBalance;
+import com.sai.dental.service.PatientBalanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:4200")
+public class BalanceController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private PatientBalanceService patientBalanceService;
+
+    @GetMapping("/patients/{id}/balance")
+    public ResponseEntity<PatientBalance> getPatientBalance(@PathVariable Long id) {
+        // Patients with no bills or payments have no ledger row yet
+        return ResponseEntity.ok(patientBalanceService.getBalance(id).orElseGet(() -> new PatientBalance(id)));
+    }
+
+    @GetMapping("/balances")
+    public ResponseEntity<Page<PatientBalance>> getBalances(@RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "50") int size,
+                                                            @RequestParam(defaultValue = "false") boolean outstandingOnly) {
+        if (page < 0 || size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        PageRequest pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE),
+                Sort.by(Sort.Order.desc("outstanding"), Sort.Order.asc("patientId")));
+        return ResponseEntity.ok(patientBalanceService.getBalances(outstandingOnly, pageable));
+    }
+}
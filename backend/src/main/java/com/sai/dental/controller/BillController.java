@@ -1,15 +1,24 @@
 package com.sai.dental.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sai.dental.dto.BulkImportResult;
+import com.sai.dental.dto.BulkStatusRequest;
+import com.sai.dental.dto.BulkStatusResult;
 import com.sai.dental.entity.Bill;
 import com.sai.dental.entity.BillStatus;
 import com.sai.dental.entity.PaymentMethod;
 import com.sai.dental.service.BillService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -21,6 +30,12 @@ public class BillController {
     @Autowired
     private BillService billService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${billing.bulk.chunk-size:500}")
+    private int defaultChunkSize;
+
     @GetMapping
     public List<Bill> getAllBills() {
         return billService.getAllBills();
@@ -38,6 +53,18 @@ public class BillController {
         return billService.saveBill(bill);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> createBillsInBulk(InputStream body,
+                                                              @RequestParam(required = false) Integer chunkSize) {
+        // Bills are read one array element at a time so large imports are never held in memory
+        try (MappingIterator<Bill> bills = objectMapper.readerFor(Bill.class).readValues(body)) {
+            int size = chunkSize != null && chunkSize > 0 ? chunkSize : defaultChunkSize;
+            return ResponseEntity.ok(billService.saveBillsInBulk(bills, size));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Bill> updateBill(@PathVariable Long id, @Valid @RequestBody Bill billDetails) {
         try {
@@ -83,6 +110,20 @@ public class BillController {
         return billService.getOverdueBills();
     }
 
+    @PostMapping("/bulk-status")
+    public ResponseEntity<BulkStatusResult> updateStatuses(@RequestBody BulkStatusRequest<BillStatus> request) {
+        try {
+            return ResponseEntity.ok(billService.updateStatuses(request.getIds(), request.getStatus()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/mark-overdue")
+    public BulkStatusResult markOverdueBills() {
+        return billService.markOverdueBills();
+    }
+
     @GetMapping("/date-range")
     public List<Bill> getBillsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
@@ -0,0 +1,35 @@
+package com.sai.dental.controller;
+
+import com.sai.dental.service.ChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    // EventSource sends Last-Event-ID itself when it reconnects; since is for clients resuming from a stored id
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(required = false) Set<String> entities,
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return ResponseEntity.ok(changeFeed.subscribe(entities, lastEventId != null ? lastEventId : since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
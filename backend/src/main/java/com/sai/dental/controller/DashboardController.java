@@ -0,0 +1,21 @@
+package com.sai.dental.controller;
+
+import com.sai.dental.dto.DashboardSummary;
+import com.sai.dental.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:4200")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary() {
+        return ResponseEntity.ok(dashboardService.getSummary());
+    }
+}
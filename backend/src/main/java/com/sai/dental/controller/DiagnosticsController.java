@@ -0,0 +1,52 @@
+package com.sai.dental.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@CrossOrigin(origins = "http://localhost:4200")
+public class DiagnosticsController {
+
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+    private static final String SQL_BIND_LOGGER = "org.hibernate.orm.jdbc.bind";
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    // Bound parameters include patient names, phone numbers and notes, so logging them is opt-in per deployment
+    @Value("${diagnostics.sql.parameter-logging.enabled:false}")
+    private boolean parameterLoggingAllowed;
+
+    @GetMapping("/sql-logging")
+    public ResponseEntity<Map<String, Boolean>> getSqlLogging() {
+        return ResponseEntity.ok(Map.of(
+                "enabled", isEnabled(SQL_LOGGER, LogLevel.DEBUG),
+                "parameters", isEnabled(SQL_BIND_LOGGER, LogLevel.TRACE)));
+    }
+
+    // Statement logging goes through the async appender, so switching it on does not block requests on stdout
+    @PutMapping("/sql-logging")
+    public ResponseEntity<Map<String, Boolean>> setSqlLogging(@RequestParam boolean enabled,
+                                                              @RequestParam(defaultValue = "false") boolean parameters) {
+        if (parameters && !parameterLoggingAllowed) {
+            return ResponseEntity.badRequest().build();
+        }
+        loggingSystem.setLogLevel(SQL_LOGGER, enabled ? LogLevel.DEBUG : LogLevel.INFO);
+        loggingSystem.setLogLevel(SQL_BIND_LOGGER, enabled && parameters ? LogLevel.TRACE : LogLevel.INFO);
+        return getSqlLogging();
+    }
+
+    private boolean isEnabled(String logger, LogLevel level) {
+        LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(logger);
+        return configuration != null && configuration.getEffectiveLevel() != null
+                && configuration.getEffectiveLevel().compareTo(level) <= 0;
+    }
+}
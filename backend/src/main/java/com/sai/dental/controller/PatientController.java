@@ -1,35 +1,63 @@
 package com.sai.dental.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sai.dental.dto.BulkImportResult;
+import com.sai.dental.dto.PatientPage;
 import com.sai.dental.entity.Patient;
+import com.sai.dental.service.ExportService;
+import com.sai.dental.service.PatientCsvReader;
 import com.sai.dental.service.PatientService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/patients")
 @CrossOrigin(origins = "http://localhost:4200")
 public class PatientController {
 
+    private static final Logger log = LoggerFactory.getLogger(PatientController.class);
+
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${patients.bulk.chunk-size:500}")
+    private int defaultChunkSize;
+
     @GetMapping("/test")
     public String testEndpoint() {
-        System.out.println("Test endpoint called - Controller is working!");
+        log.debug("Patient test endpoint called");
         return "Controller is working!";
     }
 
     @PostMapping("/simple")
     public ResponseEntity<String> createSimplePatient(@RequestBody String data) {
         try {
-            System.out.println("POST /api/patients/simple called with data: " + data);
+            log.debug("POST /api/patients/simple called with {} characters", data.length());
             return ResponseEntity.ok("Simple POST is working! Received: " + data);
         } catch (Exception e) {
-            System.err.println("Error in simple POST: " + e.getMessage());
+            log.warn("Simple POST failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
@@ -39,6 +67,19 @@ public class PatientController {
         return patientService.getAllPatients();
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PatientPage> getPatientPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PatientService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) List<String> expand) {
+        try {
+            Set<String> expansions = expand != null ? new HashSet<>(expand) : Set.of();
+            return ResponseEntity.ok(patientService.getPatientPage(cursor, size, expansions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Patient> getPatientById(@PathVariable Long id) {
         return patientService.getPatientById(id)
@@ -49,19 +90,59 @@ public class PatientController {
     @PostMapping
     public ResponseEntity<Patient> createPatient(@Valid @RequestBody Patient patient) {
         try {
-            System.out.println("POST /api/patients called");
-            System.out.println("Creating patient: " + patient.getFirstName() + " " + patient.getLastName());
-            System.out.println("Patient data: " + patient);
             Patient savedPatient = patientService.savePatient(patient);
-            System.out.println("Patient saved with ID: " + savedPatient.getId());
+            log.debug("Created patient {}", savedPatient.getId());
             return ResponseEntity.ok(savedPatient);
         } catch (Exception e) {
-            System.err.println("Error creating patient: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Could not create patient", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> importPatientsFromJson(InputStream body,
+                                                    @RequestParam(required = false) Integer chunkSize,
+                                                    @RequestParam(defaultValue = "false") boolean errorReport) {
+        // Accepts a JSON array or newline-delimited objects, read one record at a time
+        try (MappingIterator<Patient> patients = objectMapper.readerFor(Patient.class).readValues(body)) {
+            return importResponse(patientService.savePatientsInBulk(patients, chunkSize(chunkSize)), errorReport);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<?> importPatientsFromCsv(InputStream body,
+                                                   @RequestParam(required = false) Integer chunkSize,
+                                                   @RequestParam(defaultValue = "false") boolean errorReport) {
+        try (PatientCsvReader patients = new PatientCsvReader(body)) {
+            return importResponse(patientService.savePatientsInBulk(patients, chunkSize(chunkSize)), errorReport);
+        } catch (IOException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    private int chunkSize(Integer requested) {
+        return requested != null && requested > 0 ? requested : defaultChunkSize;
+    }
+
+    // With errorReport=true the rejected rows come back as a CSV download and the counts as headers
+    private ResponseEntity<?> importResponse(BulkImportResult result, boolean errorReport) throws IOException {
+        if (!errorReport) {
+            return ResponseEntity.ok(result);
+        }
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        exportService.exportFailures(result.getFailures(), report);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("patient-import-errors.csv").build().toString())
+                .header("X-Import-Received", String.valueOf(result.getReceived()))
+                .header("X-Import-Created", String.valueOf(result.getCreated()))
+                .header("X-Import-Failed", String.valueOf(result.getFailed()))
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(report.toByteArray());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Patient> updatePatient(@PathVariable Long id, @Valid @RequestBody Patient patientDetails) {
         try {
@@ -93,8 +174,9 @@ public class PatientController {
     }
 
     @GetMapping("/search")
-    public List<Patient> searchPatients(@RequestParam String q) {
-        return patientService.searchPatients(q);
+    public List<Patient> searchPatients(@RequestParam String q,
+                                        @RequestParam(defaultValue = "" + PatientService.DEFAULT_SEARCH_LIMIT) int limit) {
+        return patientService.searchPatients(q, limit);
     }
 
     @GetMapping("/email/{email}")
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,8 +33,12 @@ public class PaymentController {
     }
 
     @PostMapping
-    public Payment createPayment(@Valid @RequestBody Payment payment) {
-        return paymentService.savePayment(payment);
+    public ResponseEntity<Payment> createPayment(@Valid @RequestBody Payment payment) {
+        try {
+            return ResponseEntity.ok(paymentService.savePayment(payment));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -59,9 +64,8 @@ public class PaymentController {
     }
 
     @GetMapping("/total/{date}")
-    public ResponseEntity<Double> getTotalPaymentsForDate(
+    public ResponseEntity<BigDecimal> getTotalPaymentsForDate(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
-        Double total = paymentService.getTotalPaymentsForDate(date);
-        return ResponseEntity.ok(total != null ? total : 0.0);
+        return ResponseEntity.ok(paymentService.getTotalPaymentsForDate(date));
     }
 }
@@ -0,0 +1,43 @@
+package com.sai.dental.controller;
+
+import com.sai.dental.dto.RevenuePoint;
+import com.sai.dental.service.RevenueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/revenue")
+@CrossOrigin(origins = "http://localhost:4200")
+public class RevenueController {
+
+    private static final int MAX_DAYS = 3660;
+
+    @Autowired
+    private RevenueService revenueService;
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<RevenuePoint>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) > MAX_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(revenueService.getDailySeries(startDate, endDate));
+    }
+
+    @GetMapping("/monthly")
+    public ResponseEntity<List<RevenuePoint>> getMonthlyRevenue(@RequestParam YearMonth startMonth,
+                                                                @RequestParam YearMonth endMonth) {
+        if (endMonth.isBefore(startMonth)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(revenueService.getMonthlySeries(startMonth, endMonth));
+    }
+}
@@ -4,11 +4,14 @@ import com.sai.dental.entity.ServiceCategory;
 import com.sai.dental.entity.ServiceTemplate;
 import com.sai.dental.service.ServiceTemplateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/serviceTemplates")
@@ -19,14 +22,15 @@ public class ServiceTemplateController {
     private ServiceTemplateService serviceTemplateService;
 
     @GetMapping
-    public List<ServiceTemplate> getAllServiceTemplates() {
-        return serviceTemplateService.getAllServiceTemplates();
+    public ResponseEntity<List<ServiceTemplate>> getAllServiceTemplates(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, () -> serviceTemplateService.getAllServiceTemplates());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ServiceTemplate> getServiceTemplateById(@PathVariable Long id) {
         return serviceTemplateService.getServiceTemplateById(id)
-                .map(template -> ResponseEntity.ok().body(template))
+                .map(template -> ResponseEntity.ok().eTag(serviceTemplateService.getCatalogVersion()).body(template))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -56,12 +60,25 @@ public class ServiceTemplateController {
     }
 
     @GetMapping("/category/{category}")
-    public List<ServiceTemplate> getServiceTemplatesByCategory(@PathVariable ServiceCategory category) {
-        return serviceTemplateService.getServiceTemplatesByCategory(category);
+    public ResponseEntity<List<ServiceTemplate>> getServiceTemplatesByCategory(
+            @PathVariable ServiceCategory category,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, () -> serviceTemplateService.getServiceTemplatesByCategory(category));
     }
 
     @GetMapping("/search")
-    public List<ServiceTemplate> searchServiceTemplates(@RequestParam String name) {
-        return serviceTemplateService.searchServiceTemplates(name);
+    public ResponseEntity<List<ServiceTemplate>> searchServiceTemplates(
+            @RequestParam String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(ifNoneMatch, () -> serviceTemplateService.searchServiceTemplates(name));
+    }
+
+    // Every catalog read shares one version tag, so a client can revalidate any of them cheaply
+    private <T> ResponseEntity<T> conditional(String ifNoneMatch, Supplier<T> body) {
+        String etag = serviceTemplateService.getCatalogVersion();
+        if (ifNoneMatch != null && (ifNoneMatch.equals(etag) || ifNoneMatch.equals("W/" + etag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
     }
 }
@@ -1,5 +1,7 @@
 package com.sai.dental.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -7,15 +9,17 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "http://localhost:4200")
 public class TestController {
 
+    private static final Logger log = LoggerFactory.getLogger(TestController.class);
+
     @GetMapping
     public String test() {
-        System.out.println("GET /api/test called");
+        log.debug("GET /api/test called");
         return "Backend is working!";
     }
 
     @PostMapping
     public String testPost(@RequestBody String data) {
-        System.out.println("POST /api/test called with data: " + data);
+        log.debug("POST /api/test called with {} characters", data.length());
         return "POST is working! Received: " + data;
     }
 }
@@ -0,0 +1,53 @@
+package com.sai.dental.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResult {
+
+    private int received;
+    private int created;
+    private List<BulkItemFailure> failures = new ArrayList<>();
+
+    public BulkImportResult() {}
+
+    public void recordReceived() {
+        received++;
+    }
+
+    public void recordCreated(int count) {
+        created += count;
+    }
+
+    public void recordFailure(int index, String reference, String error) {
+        failures.add(new BulkItemFailure(index, reference, error));
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failures.size();
+    }
+
+    public List<BulkItemFailure> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<BulkItemFailure> failures) {
+        this.failures = failures;
+    }
+}
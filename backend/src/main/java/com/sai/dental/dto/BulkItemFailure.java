@@ -0,0 +1,40 @@
+package com.sai.dental.dto;
+
+public class BulkItemFailure {
+
+    private int index;
+    private String reference;
+    private String error;
+
+    public BulkItemFailure() {}
+
+    public BulkItemFailure(int index, String reference, String error) {
+        this.index = index;
+        this.reference = reference;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,27 @@
+package com.sai.dental.dto;
+
+import java.util.List;
+
+public class BulkStatusRequest<S extends Enum<S>> {
+
+    private List<Long> ids;
+    private S status;
+
+    public BulkStatusRequest() {}
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public S getStatus() {
+        return status;
+    }
+
+    public void setStatus(S status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,52 @@
+package com.sai.dental.dto;
+
+import java.util.List;
+
+public class BulkStatusResult {
+
+    private String status;
+    private int requested;
+    private int updated;
+    private List<Long> skippedIds;
+
+    public BulkStatusResult() {}
+
+    public BulkStatusResult(String status, int requested, int updated, List<Long> skippedIds) {
+        this.status = status;
+        this.requested = requested;
+        this.updated = updated;
+        this.skippedIds = skippedIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<Long> getSkippedIds() {
+        return skippedIds;
+    }
+
+    public void setSkippedIds(List<Long> skippedIds) {
+        this.skippedIds = skippedIds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.sai.dental.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CalendarDay {
+
+    private LocalDate date;
+    private List<DoctorSchedule> doctors;
+
+    public CalendarDay() {}
+
+    public CalendarDay(LocalDate date, List<DoctorSchedule> doctors) {
+        this.date = date;
+        this.doctors = doctors;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<DoctorSchedule> getDoctors() {
+        return doctors;
+    }
+
+    public void setDoctors(List<DoctorSchedule> doctors) {
+        this.doctors = doctors;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sai.dental.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One committed change on the /api/changes feed. Single-row changes carry the id and the
+ * row as the REST API returns it (deleted payments keep theirs so clients know the bill;
+ * other deletes have none). Set-based changes carry the affected ids, or no ids when the
+ * client should reload the collection.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+
+    public static final String PATIENT = "patient";
+    public static final String APPOINTMENT = "appointment";
+    public static final String BILL = "bill";
+    public static final String PAYMENT = "payment";
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String STATUS_CHANGED = "status-changed";
+    public static final String IMPORTED = "imported";
+    public static final String REMINDERS_SENT = "reminders-sent";
+
+    private long sequence;
+    private String entity;
+    private String action;
+    private Long id;
+    private List<Long> ids;
+    private JsonNode data;
+    private LocalDateTime occurredAt;
+
+    public ChangeEvent() {}
+
+    public ChangeEvent(String entity, String action, Long id, List<Long> ids) {
+        this.entity = entity;
+        this.action = action;
+        this.id = id;
+        this.ids = ids;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public JsonNode getData() {
+        return data;
+    }
+
+    public void setData(JsonNode data) {
+        this.data = data;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,95 @@
+package com.sai.dental.dto;
+
+import com.sai.dental.entity.AppointmentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class DashboardSummary {
+
+    private LocalDate date;
+    private Map<AppointmentStatus, Long> appointmentsByStatus;
+    private long appointmentsToday;
+    private long overdueBillCount;
+    private BigDecimal overdueAmount;
+    private BigDecimal revenueMonthToDate;
+    private long newPatientsToday;
+    private long newPatientsMonthToDate;
+    private LocalDateTime generatedAt;
+
+    public DashboardSummary() {}
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Map<AppointmentStatus, Long> getAppointmentsByStatus() {
+        return appointmentsByStatus;
+    }
+
+    public void setAppointmentsByStatus(Map<AppointmentStatus, Long> appointmentsByStatus) {
+        this.appointmentsByStatus = appointmentsByStatus;
+    }
+
+    public long getAppointmentsToday() {
+        return appointmentsToday;
+    }
+
+    public void setAppointmentsToday(long appointmentsToday) {
+        this.appointmentsToday = appointmentsToday;
+    }
+
+    public long getOverdueBillCount() {
+        return overdueBillCount;
+    }
+
+    public void setOverdueBillCount(long overdueBillCount) {
+        this.overdueBillCount = overdueBillCount;
+    }
+
+    public BigDecimal getOverdueAmount() {
+        return overdueAmount;
+    }
+
+    public void setOverdueAmount(BigDecimal overdueAmount) {
+        this.overdueAmount = overdueAmount;
+    }
+
+    public BigDecimal getRevenueMonthToDate() {
+        return revenueMonthToDate;
+    }
+
+    public void setRevenueMonthToDate(BigDecimal revenueMonthToDate) {
+        this.revenueMonthToDate = revenueMonthToDate;
+    }
+
+    public long getNewPatientsToday() {
+        return newPatientsToday;
+    }
+
+    public void setNewPatientsToday(long newPatientsToday) {
+        this.newPatientsToday = newPatientsToday;
+    }
+
+    public long getNewPatientsMonthToDate() {
+        return newPatientsMonthToDate;
+    }
+
+    public void setNewPatientsMonthToDate(long newPatientsMonthToDate) {
+        this.newPatientsMonthToDate = newPatientsMonthToDate;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+}
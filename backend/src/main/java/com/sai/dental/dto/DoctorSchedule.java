@@ -0,0 +1,85 @@
+package com.sai.dental.dto;
+
+/**
+ * One doctor's appointments for a day as parallel arrays ordered by start minute,
+ * so a week of calendar data serializes without repeating field names per slot.
+ */
+public class DoctorSchedule {
+
+    private String doctorName;
+    private long[] ids;
+    private int[] startMinutes;
+    private int[] durations;
+    private String[] statuses;
+    private long[] patientIds;
+    private String[] patientNames;
+
+    public DoctorSchedule() {}
+
+    public DoctorSchedule(String doctorName, long[] ids, int[] startMinutes, int[] durations, String[] statuses,
+                          long[] patientIds, String[] patientNames) {
+        this.doctorName = doctorName;
+        this.ids = ids;
+        this.startMinutes = startMinutes;
+        this.durations = durations;
+        this.statuses = statuses;
+        this.patientIds = patientIds;
+        this.patientNames = patientNames;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public void setIds(long[] ids) {
+        this.ids = ids;
+    }
+
+    public int[] getStartMinutes() {
+        return startMinutes;
+    }
+
+    public void setStartMinutes(int[] startMinutes) {
+        this.startMinutes = startMinutes;
+    }
+
+    public int[] getDurations() {
+        return durations;
+    }
+
+    public void setDurations(int[] durations) {
+        this.durations = durations;
+    }
+
+    public String[] getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(String[] statuses) {
+        this.statuses = statuses;
+    }
+
+    public long[] getPatientIds() {
+        return patientIds;
+    }
+
+    public void setPatientIds(long[] patientIds) {
+        this.patientIds = patientIds;
+    }
+
+    public String[] getPatientNames() {
+        return patientNames;
+    }
+
+    public void setPatientNames(String[] patientNames) {
+        this.patientNames = patientNames;
+    }
+}
@@ -0,0 +1,52 @@
+package com.sai.dental.dto;
+
+import java.time.LocalDate;
+
+public class FreeSlot {
+
+    private LocalDate date;
+    private String doctorName;
+    private String startTime;
+    private String endTime;
+
+    public FreeSlot() {}
+
+    public FreeSlot(LocalDate date, String doctorName, String startTime, String endTime) {
+        this.date = date;
+        this.doctorName = doctorName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+    }
+}
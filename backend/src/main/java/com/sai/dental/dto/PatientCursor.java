@@ -0,0 +1,43 @@
+package com.sai.dental.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the (registrationDate DESC, id DESC) patient ordering.
+ */
+public class PatientCursor {
+
+    private final LocalDateTime registrationDate;
+    private final Long id;
+
+    public PatientCursor(LocalDateTime registrationDate, Long id) {
+        this.registrationDate = registrationDate;
+        this.id = id;
+    }
+
+    public LocalDateTime getRegistrationDate() {
+        return registrationDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = registrationDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PatientCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PatientCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid patient cursor: " + cursor, e);
+        }
+    }
+}
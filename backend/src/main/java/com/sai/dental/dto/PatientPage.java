@@ -0,0 +1,42 @@
+package com.sai.dental.dto;
+
+import java.util.List;
+
+public class PatientPage {
+
+    private List<PatientSummary> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public PatientPage() {}
+
+    public PatientPage(List<PatientSummary> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<PatientSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<PatientSummary> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
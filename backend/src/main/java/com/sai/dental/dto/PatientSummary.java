@@ -0,0 +1,149 @@
+package com.sai.dental.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PatientSummary {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private LocalDateTime registrationDate;
+    private LocalDateTime lastVisit;
+    private LocalDateTime nextAppointment;
+    private Integer totalVisits;
+
+    // Only populated when the caller asks for them via ?expand=
+    private List<String> medicalHistory;
+    private List<String> allergies;
+
+    public PatientSummary() {}
+
+    public PatientSummary(Long id, String firstName, String lastName, String email, String phone,
+                          LocalDate dateOfBirth, String gender, LocalDateTime registrationDate,
+                          LocalDateTime lastVisit, LocalDateTime nextAppointment, Integer totalVisits) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+        this.registrationDate = registrationDate;
+        this.lastVisit = lastVisit;
+        this.nextAppointment = nextAppointment;
+        this.totalVisits = totalVisits;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public void setDateOfBirth(LocalDate dateOfBirth) {
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public LocalDateTime getRegistrationDate() {
+        return registrationDate;
+    }
+
+    public void setRegistrationDate(LocalDateTime registrationDate) {
+        this.registrationDate = registrationDate;
+    }
+
+    public LocalDateTime getLastVisit() {
+        return lastVisit;
+    }
+
+    public void setLastVisit(LocalDateTime lastVisit) {
+        this.lastVisit = lastVisit;
+    }
+
+    public LocalDateTime getNextAppointment() {
+        return nextAppointment;
+    }
+
+    public void setNextAppointment(LocalDateTime nextAppointment) {
+        this.nextAppointment = nextAppointment;
+    }
+
+    public Integer getTotalVisits() {
+        return totalVisits;
+    }
+
+    public void setTotalVisits(Integer totalVisits) {
+        this.totalVisits = totalVisits;
+    }
+
+    public List<String> getMedicalHistory() {
+        return medicalHistory;
+    }
+
+    public void setMedicalHistory(List<String> medicalHistory) {
+        this.medicalHistory = medicalHistory;
+    }
+
+    public List<String> getAllergies() {
+        return allergies;
+    }
+
+    public void setAllergies(List<String> allergies) {
+        this.allergies = allergies;
+    }
+}
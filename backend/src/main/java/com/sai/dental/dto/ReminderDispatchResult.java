@@ -0,0 +1,52 @@
+package com.sai.dental.dto;
+
+import java.time.LocalDate;
+
+public class ReminderDispatchResult {
+
+    private LocalDate appointmentDate;
+    private int due;
+    private int sent;
+    private int failed;
+
+    public ReminderDispatchResult() {}
+
+    public ReminderDispatchResult(LocalDate appointmentDate, int due, int sent, int failed) {
+        this.appointmentDate = appointmentDate;
+        this.due = due;
+        this.sent = sent;
+        this.failed = failed;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+
+    public int getDue() {
+        return due;
+    }
+
+    public void setDue(int due) {
+        this.due = due;
+    }
+
+    public int getSent() {
+        return sent;
+    }
+
+    public void setSent(int sent) {
+        this.sent = sent;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,42 @@
+package com.sai.dental.dto;
+
+import java.math.BigDecimal;
+
+public class RevenuePoint {
+
+    private String period;
+    private BigDecimal total;
+    private long paymentCount;
+
+    public RevenuePoint() {}
+
+    public RevenuePoint(String period, BigDecimal total, long paymentCount) {
+        this.period = period;
+        this.total = total;
+        this.paymentCount = paymentCount;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+}
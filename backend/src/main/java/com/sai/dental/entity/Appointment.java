@@ -1,5 +1,7 @@
 package com.sai.dental.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -41,6 +43,20 @@ public class Appointment {
     @Column(name = "end_time")
     private String endTime;
     
+    // Typed copies of startTime/endTime that queries compare and sort on, kept in step by the
+    // setters; rows written before they existed are filled in by AppointmentScheduleBackfill
+    @JsonIgnore
+    @Column(name = "start_minute")
+    private Integer startMinute;
+    
+    @JsonIgnore
+    @Column(name = "end_minute")
+    private Integer endMinute;
+    
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "start_at")
+    private LocalDateTime startAt;
+    
     @Enumerated(EnumType.STRING)
     @NotNull
     private AppointmentType type;
@@ -112,6 +128,7 @@ public class Appointment {
 
     public void setAppointmentDate(LocalDate appointmentDate) {
         this.appointmentDate = appointmentDate;
+        deriveSchedule();
     }
 
     public String getStartTime() {
@@ -120,6 +137,7 @@ public class Appointment {
 
     public void setStartTime(String startTime) {
         this.startTime = startTime;
+        deriveSchedule();
     }
 
     public String getEndTime() {
@@ -128,6 +146,24 @@ public class Appointment {
 
     public void setEndTime(String endTime) {
         this.endTime = endTime;
+        deriveSchedule();
+    }
+
+    // Minutes after midnight, or null if the start time is unreadable
+    public Integer getStartMinute() {
+        return startMinute != null ? startMinute : MinuteOfDay.parseOrNull(startTime);
+    }
+
+    public Integer getEndMinute() {
+        if (endMinute != null) {
+            return endMinute;
+        }
+        Integer start = getStartMinute();
+        return start != null ? MinuteOfDay.resolveEnd(start, MinuteOfDay.parseOrNull(endTime), duration) : null;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
     }
 
     public AppointmentType getType() {
@@ -152,6 +188,7 @@ public class Appointment {
 
     public void setDuration(Integer duration) {
         this.duration = duration;
+        deriveSchedule();
     }
 
     public String getNotes() {
@@ -185,4 +222,24 @@ public class Appointment {
     public void setReminder(Reminder reminder) {
         this.reminder = reminder;
     }
+
+    // Also runs before every insert and update, for rows loaded before the typed columns were filled
+    @PrePersist
+    @PreUpdate
+    void deriveSchedule() {
+        startMinute = MinuteOfDay.parseOrNull(startTime);
+        if (startMinute == null) {
+            endMinute = null;
+            startAt = null;
+            return;
+        }
+        Integer end = MinuteOfDay.parseOrNull(endTime);
+        endMinute = MinuteOfDay.resolveEnd(startMinute, end, duration);
+        startAt = appointmentDate != null ? appointmentDate.atStartOfDay().plusMinutes(startMinute) : null;
+        // Zero-padded so the string columns sort correctly for anything still reading them
+        startTime = MinuteOfDay.format(startMinute);
+        if (end != null) {
+            endTime = MinuteOfDay.format(end);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.sai.dental.entity;
 
+import java.util.EnumSet;
+
 public enum AppointmentStatus {
     SCHEDULED("scheduled"),
     CONFIRMED("confirmed"),
@@ -18,4 +20,31 @@ public enum AppointmentStatus {
     public String getValue() {
         return value;
     }
+
+    public boolean canTransitionTo(AppointmentStatus target) {
+        switch (this) {
+            case SCHEDULED:
+                return target != SCHEDULED;
+            case CONFIRMED:
+                return target != SCHEDULED && target != CONFIRMED;
+            case IN_PROGRESS:
+                return target == COMPLETED;
+            case RESCHEDULED:
+                return target == SCHEDULED || target == CONFIRMED || target == CANCELLED;
+            case NO_SHOW:
+                return target == RESCHEDULED;
+            default:
+                return false;
+        }
+    }
+
+    public static EnumSet<AppointmentStatus> allowedSources(AppointmentStatus target) {
+        EnumSet<AppointmentStatus> sources = EnumSet.noneOf(AppointmentStatus.class);
+        for (AppointmentStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
 }
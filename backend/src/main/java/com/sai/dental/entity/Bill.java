@@ -3,6 +3,8 @@ package com.sai.dental.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,11 +15,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bills")
 @Table(name = "bills")
 public class Bill {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bill_seq")
+    @SequenceGenerator(name = "bill_seq", sequenceName = "bills_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
@@ -43,6 +48,7 @@ public class Bill {
     @Column(name = "due_date")
     private LocalDate dueDate;
     
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bills.items")
     @OneToMany(mappedBy = "bill", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<BillItem> items = new ArrayList<>();
     
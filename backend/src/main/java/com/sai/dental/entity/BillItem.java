@@ -1,18 +1,24 @@
 package com.sai.dental.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bill-items")
 @Table(name = "bill_items")
 public class BillItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bill_item_seq")
+    @SequenceGenerator(name = "bill_item_seq", sequenceName = "bill_items_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -35,6 +41,7 @@ public class BillItem {
     @Column(name = "total", precision = 10, scale = 2)
     private BigDecimal total;
     
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bill_id")
     private Bill bill;
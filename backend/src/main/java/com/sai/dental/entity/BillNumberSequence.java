@@ -0,0 +1,38 @@
+package com.sai.dental.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "bill_number_sequences")
+public class BillNumberSequence {
+
+    @Id
+    @Column(name = "period", length = 6)
+    private String period;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    public BillNumberSequence() {}
+
+    public BillNumberSequence(String period, Long nextValue) {
+        this.period = period;
+        this.nextValue = nextValue;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+}
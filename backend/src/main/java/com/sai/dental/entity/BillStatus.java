@@ -1,5 +1,7 @@
 package com.sai.dental.entity;
 
+import java.util.EnumSet;
+
 public enum BillStatus {
     DRAFT("draft"),
     SENT("sent"),
@@ -17,4 +19,29 @@ public enum BillStatus {
     public String getValue() {
         return value;
     }
+
+    public boolean canTransitionTo(BillStatus target) {
+        switch (this) {
+            case DRAFT:
+                return target == SENT || target == CANCELLED;
+            case SENT:
+                return target == PARTIAL || target == PAID || target == OVERDUE || target == CANCELLED;
+            case PARTIAL:
+                return target == PAID || target == OVERDUE;
+            case OVERDUE:
+                return target == PARTIAL || target == PAID || target == CANCELLED;
+            default:
+                return false;
+        }
+    }
+
+    public static EnumSet<BillStatus> allowedSources(BillStatus target) {
+        EnumSet<BillStatus> sources = EnumSet.noneOf(BillStatus.class);
+        for (BillStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
 }
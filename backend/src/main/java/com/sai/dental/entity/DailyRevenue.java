@@ -0,0 +1,53 @@
+package com.sai.dental.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_revenue")
+public class DailyRevenue {
+
+    @Id
+    @Column(name = "revenue_date")
+    private LocalDate date;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount = 0L;
+
+    public DailyRevenue() {}
+
+    public DailyRevenue(LocalDate date, BigDecimal total, Long paymentCount) {
+        this.date = date;
+        this.total = total;
+        this.paymentCount = paymentCount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public void setPaymentCount(Long paymentCount) {
+        this.paymentCount = paymentCount;
+    }
+}
@@ -0,0 +1,60 @@
+package com.sai.dental.entity;
+
+/**
+ * Conversions between the "HH:mm" strings of the REST contract and minutes after
+ * midnight, the form appointments are stored, compared and sorted in.
+ */
+public final class MinuteOfDay {
+
+    public static final int DEFAULT_DURATION = 30;
+
+    private MinuteOfDay() {
+    }
+
+    // Accepts H, H:mm and HH:mm:ss (seconds ignored); anything else is an IllegalArgumentException
+    public static int parse(String time) {
+        if (time == null) {
+            throw new IllegalArgumentException("Time is required");
+        }
+        String[] parts = time.trim().split(":");
+        try {
+            int hours = Integer.parseInt(parts[0]);
+            int minutes = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            // 24:00 is allowed as the end of the day, nothing after it
+            if (hours < 0 || hours > 24 || minutes < 0 || minutes > 59 || hours == 24 && minutes > 0) {
+                throw new IllegalArgumentException("Invalid time: " + time);
+            }
+            return hours * 60 + minutes;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid time: " + time, e);
+        }
+    }
+
+    public static Integer parseOrNull(String time) {
+        if (time == null || time.isBlank()) {
+            return null;
+        }
+        try {
+            return parse(time);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // A blank end time falls back to start plus duration; an unreadable one is rejected
+    public static int resolveEnd(int start, String endTime, Integer duration) {
+        return resolveEnd(start, endTime == null || endTime.isBlank() ? null : parse(endTime), duration);
+    }
+
+    // The end minute when it is after the start, otherwise start plus duration
+    public static int resolveEnd(int start, Integer end, Integer duration) {
+        if (end != null && end > start) {
+            return end;
+        }
+        return start + (duration != null && duration > 0 ? duration : DEFAULT_DURATION);
+    }
+
+    public static String format(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
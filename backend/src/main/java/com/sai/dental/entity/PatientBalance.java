@@ -0,0 +1,96 @@
+package com.sai.dental.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "patient_balances")
+public class PatientBalance {
+
+    @Id
+    @Column(name = "patient_id")
+    private Long patientId;
+
+    @Column(name = "patient_name")
+    private String patientName;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal billed = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal paid = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal outstanding = BigDecimal.ZERO;
+
+    @Column(name = "last_bill_date")
+    private LocalDate lastBillDate;
+
+    @Column(name = "last_payment_date")
+    private LocalDateTime lastPaymentDate;
+
+    public PatientBalance() {}
+
+    public PatientBalance(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getPatientName() {
+        return patientName;
+    }
+
+    public void setPatientName(String patientName) {
+        this.patientName = patientName;
+    }
+
+    public BigDecimal getBilled() {
+        return billed;
+    }
+
+    public void setBilled(BigDecimal billed) {
+        this.billed = billed;
+    }
+
+    public BigDecimal getPaid() {
+        return paid;
+    }
+
+    public void setPaid(BigDecimal paid) {
+        this.paid = paid;
+    }
+
+    public BigDecimal getOutstanding() {
+        return outstanding;
+    }
+
+    public void setOutstanding(BigDecimal outstanding) {
+        this.outstanding = outstanding;
+    }
+
+    public LocalDate getLastBillDate() {
+        return lastBillDate;
+    }
+
+    public void setLastBillDate(LocalDate lastBillDate) {
+        this.lastBillDate = lastBillDate;
+    }
+
+    public LocalDateTime getLastPaymentDate() {
+        return lastPaymentDate;
+    }
+
+    public void setLastPaymentDate(LocalDateTime lastPaymentDate) {
+        this.lastPaymentDate = lastPaymentDate;
+    }
+}
@@ -3,10 +3,14 @@ package com.sai.dental.repository;
 import com.sai.dental.entity.Appointment;
 import com.sai.dental.entity.AppointmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,15 +24,41 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     List<Appointment> findByStatus(AppointmentStatus status);
     
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentDate = :date " +
-           "AND a.startTime = :startTime AND a.status != 'CANCELLED'")
-    List<Appointment> findConflictingAppointments(LocalDate date, String startTime);
-    
     @Query("SELECT a FROM Appointment a WHERE a.appointmentDate >= :startDate " +
-           "AND a.appointmentDate <= :endDate ORDER BY a.appointmentDate, a.startTime")
+           "AND a.appointmentDate <= :endDate ORDER BY a.appointmentDate, a.startMinute, a.id")
     List<Appointment> findAppointmentsInDateRange(LocalDate startDate, LocalDate endDate);
+
+    // Just the columns the calendar shows, without hydrating entities
+    @Query("SELECT a.id, a.appointmentDate, a.doctorName, a.startMinute, a.endMinute, a.status, " +
+           "a.patientId, a.patientName, a.startTime, a.endTime, a.duration FROM Appointment a " +
+           "WHERE a.appointmentDate >= :startDate AND a.appointmentDate <= :endDate")
+    List<Object[]> findCalendarRows(LocalDate startDate, LocalDate endDate);
     
     @Query("SELECT a FROM Appointment a WHERE a.reminder.sent = false " +
            "AND a.appointmentDate = :tomorrow AND a.status IN ('SCHEDULED', 'CONFIRMED')")
     List<Appointment> findAppointmentsForReminder(LocalDate tomorrow);
+    
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a WHERE a.appointmentDate = :date GROUP BY a.status")
+    List<Object[]> countByStatusForDate(LocalDate date);
+    
+    @Query("SELECT a.id FROM Appointment a WHERE a.id IN :ids AND a.status IN :fromStatuses")
+    List<Long> findIdsWithStatus(Collection<Long> ids, Collection<AppointmentStatus> fromStatuses);
+    
+    // Bulk updates skip @UpdateTimestamp, so updatedDate is set explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :status, a.updatedDate = :updatedDate " +
+           "WHERE a.id IN :ids AND a.status IN :fromStatuses")
+    int updateStatus(Collection<Long> ids, Collection<AppointmentStatus> fromStatuses, AppointmentStatus status,
+                     LocalDateTime updatedDate);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :status, a.updatedDate = :updatedDate " +
+           "WHERE a.appointmentDate = :date AND a.status IN :fromStatuses")
+    int updateStatusForDate(LocalDate date, Collection<AppointmentStatus> fromStatuses, AppointmentStatus status,
+                            LocalDateTime updatedDate);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminder.sent = true, a.reminder.sentDate = :sentDate WHERE a.id IN :ids")
+    int markRemindersSent(Collection<Long> ids, LocalDateTime sentDate);
 }
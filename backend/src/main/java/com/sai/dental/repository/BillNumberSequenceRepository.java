@@ -0,0 +1,18 @@
+package com.sai.dental.repository;
+
+import com.sai.dental.entity.BillNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BillNumberSequenceRepository extends JpaRepository<BillNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BillNumberSequence s WHERE s.period = :period")
+    Optional<BillNumberSequence> findForUpdate(String period);
+}
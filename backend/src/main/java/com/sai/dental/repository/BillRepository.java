@@ -2,31 +2,97 @@ package com.sai.dental.repository;
 
 import com.sai.dental.entity.Bill;
 import com.sai.dental.entity.BillStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BillRepository extends JpaRepository<Bill, Long> {
     
+    String EXPORT_FETCH_SIZE = "500";
+    
+    @Override
+    @EntityGraph(attributePaths = "items")
+    List<Bill> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<Bill> findById(Long id);
+    
+    @EntityGraph(attributePaths = "items")
     List<Bill> findByPatientId(Long patientId);
     
+    @EntityGraph(attributePaths = "items")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Bill> findByStatus(BillStatus status);
     
     Optional<Bill> findByBillNumber(String billNumber);
     
     List<Bill> findByAppointmentId(Long appointmentId);
     
-    @Query("SELECT b FROM Bill b WHERE b.dueDate < :currentDate AND b.status IN ('SENT', 'PARTIAL')")
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT b FROM Bill b WHERE b.status = 'OVERDUE' " +
+           "OR (b.dueDate < :currentDate AND b.status IN ('SENT', 'PARTIAL'))")
     List<Bill> findOverdueBills(LocalDate currentDate);
     
+    @EntityGraph(attributePaths = "items")
     @Query("SELECT b FROM Bill b WHERE b.issueDate BETWEEN :startDate AND :endDate ORDER BY b.issueDate DESC")
     List<Bill> findBillsByDateRange(LocalDate startDate, LocalDate endDate);
     
-    @Query("SELECT COUNT(b) FROM Bill b WHERE DATE(b.issueDate) = DATE(:date)")
+    @Query("SELECT COUNT(b) FROM Bill b WHERE b.issueDate = :date")
     Long countBillsForDate(LocalDate date);
+    
+    @Query("SELECT COUNT(b), COALESCE(SUM(b.total), 0) FROM Bill b WHERE b.status = 'OVERDUE' " +
+           "OR (b.dueDate < :currentDate AND b.status IN ('SENT', 'PARTIAL'))")
+    List<Object[]> summarizeOverdueBills(LocalDate currentDate);
+    
+    @Query("SELECT b.id FROM Bill b WHERE b.id IN :ids AND b.status IN :fromStatuses")
+    List<Long> findIdsWithStatus(Collection<Long> ids, Collection<BillStatus> fromStatuses);
+    
+    // Bulk updates skip @UpdateTimestamp, so updatedDate is set explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Bill b SET b.status = :status, b.updatedDate = :updatedDate " +
+           "WHERE b.id IN :ids AND b.status IN :fromStatuses")
+    int updateStatus(Collection<Long> ids, Collection<BillStatus> fromStatuses, BillStatus status,
+                     LocalDateTime updatedDate);
+    
+    // Transactional here too because the scheduled job calls it without a service proxy in between
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Bill b SET b.status = com.sai.dental.entity.BillStatus.OVERDUE, b.updatedDate = :updatedDate " +
+           "WHERE b.dueDate < :currentDate AND b.status IN ('SENT', 'PARTIAL')")
+    int markOverdue(LocalDate currentDate, LocalDateTime updatedDate);
+    
+    @Query("SELECT b.billNumber FROM Bill b WHERE b.billNumber LIKE CONCAT(:prefix, '%')")
+    List<String> findBillNumbersWithPrefix(String prefix);
+    
+    @Query("SELECT b.patientId FROM Bill b WHERE b.id = :billId")
+    Optional<Long> findPatientIdById(Long billId);
+    
+    @Query("SELECT b.patientId, MAX(b.patientName), SUM(b.total), MAX(b.issueDate) FROM Bill b " +
+           "WHERE b.patientId IN :patientIds GROUP BY b.patientId")
+    List<Object[]> sumBilledByPatient(Collection<Long> patientIds);
+    
+    // Scalar rows stay out of the persistence context, so a forward-only stream holds no state per bill
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT b.id, b.billNumber, b.patientId, b.patientName, b.issueDate, b.dueDate, b.status, " +
+           "b.subtotal, b.tax, b.discount, b.total, b.paymentMethod, b.paymentDate, " +
+           "i.description, i.category, i.quantity, i.unitPrice, i.total " +
+           "FROM Bill b LEFT JOIN b.items i WHERE b.issueDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY b.issueDate, b.id, i.id")
+    Stream<Object[]> streamBillsWithItemsForExport(LocalDate startDate, LocalDate endDate);
 }
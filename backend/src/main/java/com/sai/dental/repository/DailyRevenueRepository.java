@@ -0,0 +1,59 @@
+package com.sai.dental.repository;
+
+import com.sai.dental.entity.DailyRevenue;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, LocalDate> {
+
+    List<DailyRevenue> findByDateBetweenOrderByDate(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(d.total), 0) FROM DailyRevenue d WHERE d.date BETWEEN :startDate AND :endDate")
+    BigDecimal sumTotalBetween(LocalDate startDate, LocalDate endDate);
+
+    // Single-statement upsert, so concurrent payments on a new day cannot race on the insert.
+    // The native space hint keeps Hibernate from evicting every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_revenue"))
+    @Query(value = "MERGE INTO daily_revenue d USING (VALUES (CAST(:date AS DATE), " +
+                   "CAST(:amount AS NUMERIC(14, 2)), CAST(:count AS BIGINT))) AS s(revenue_date, total, payment_count) " +
+                   "ON d.revenue_date = s.revenue_date " +
+                   "WHEN MATCHED THEN UPDATE SET total = d.total + s.total, payment_count = d.payment_count + s.payment_count " +
+                   "WHEN NOT MATCHED THEN INSERT (revenue_date, total, payment_count) " +
+                   "VALUES (s.revenue_date, s.total, s.payment_count)", nativeQuery = true)
+    int addToDay(LocalDate date, BigDecimal amount, long count);
+
+    // Cheap drift check: the rollup must add up to the same amount and count as the payments table
+    @Query(value = "SELECT (SELECT COALESCE(SUM(total), 0) FROM daily_revenue) <> " +
+                   "(SELECT COALESCE(SUM(amount), 0) FROM payments) " +
+                   "OR (SELECT COALESCE(SUM(payment_count), 0) FROM daily_revenue) <> " +
+                   "(SELECT COUNT(*) FROM payments)", nativeQuery = true)
+    boolean isStale();
+
+    // Overwrites each day that has payments with its recomputed totals; safe to repeat
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_revenue"))
+    @Query(value = "MERGE INTO daily_revenue d USING (SELECT CAST(p.date AS DATE) AS revenue_date, " +
+                   "COALESCE(SUM(p.amount), 0) AS total, COUNT(*) AS payment_count FROM payments p " +
+                   "GROUP BY CAST(p.date AS DATE)) s ON d.revenue_date = s.revenue_date " +
+                   "WHEN MATCHED THEN UPDATE SET total = s.total, payment_count = s.payment_count " +
+                   "WHEN NOT MATCHED THEN INSERT (revenue_date, total, payment_count) " +
+                   "VALUES (s.revenue_date, s.total, s.payment_count)", nativeQuery = true)
+    int mergeFromPayments();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_revenue"))
+    @Query(value = "DELETE FROM daily_revenue d WHERE NOT EXISTS (SELECT 1 FROM payments p " +
+                   "WHERE p.date >= d.revenue_date AND p.date < DATEADD(DAY, 1, d.revenue_date))", nativeQuery = true)
+    int deleteDaysWithoutPayments();
+}
@@ -0,0 +1,79 @@
+package com.sai.dental.repository;
+
+import com.sai.dental.entity.PatientBalance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface PatientBalanceRepository extends JpaRepository<PatientBalance, Long> {
+
+    Page<PatientBalance> findByOutstandingGreaterThan(BigDecimal amount, Pageable pageable);
+
+    // Native upserts name the table they touch so the second-level cache is not evicted wholesale
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "patient_balances"))
+    @Query(value = "MERGE INTO patient_balances b USING (VALUES (CAST(:patientId AS BIGINT), " +
+                   "CAST(:patientName AS VARCHAR(255)), CAST(:amount AS NUMERIC(14, 2)), CAST(:issueDate AS DATE))) " +
+                   "AS s(patient_id, patient_name, amount, issue_date) ON b.patient_id = s.patient_id " +
+                   "WHEN MATCHED THEN UPDATE SET billed = b.billed + s.amount, outstanding = b.outstanding + s.amount, " +
+                   "patient_name = s.patient_name, " +
+                   "last_bill_date = GREATEST(COALESCE(b.last_bill_date, s.issue_date), s.issue_date) " +
+                   "WHEN NOT MATCHED THEN INSERT (patient_id, patient_name, billed, paid, outstanding, last_bill_date) " +
+                   "VALUES (s.patient_id, s.patient_name, s.amount, 0, s.amount, s.issue_date)", nativeQuery = true)
+    int addBilled(Long patientId, String patientName, BigDecimal amount, LocalDate issueDate);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "patient_balances"))
+    @Query(value = "MERGE INTO patient_balances b USING (VALUES (CAST(:patientId AS BIGINT), " +
+                   "CAST(:amount AS NUMERIC(14, 2)), CAST(:paymentDate AS TIMESTAMP))) " +
+                   "AS s(patient_id, amount, payment_date) ON b.patient_id = s.patient_id " +
+                   "WHEN MATCHED THEN UPDATE SET paid = b.paid + s.amount, outstanding = b.outstanding - s.amount, " +
+                   "last_payment_date = GREATEST(COALESCE(b.last_payment_date, s.payment_date), s.payment_date) " +
+                   "WHEN NOT MATCHED THEN INSERT (patient_id, billed, paid, outstanding, last_payment_date) " +
+                   "VALUES (s.patient_id, 0, s.amount, -s.amount, s.payment_date)", nativeQuery = true)
+    int addPaid(Long patientId, BigDecimal amount, LocalDateTime paymentDate);
+
+    // Cheap drift check: the ledger's totals must equal what bills and payments add up to
+    @Query(value = "SELECT (SELECT COALESCE(SUM(billed), 0) FROM patient_balances) <> " +
+                   "(SELECT COALESCE(SUM(total), 0) FROM bills WHERE patient_id IS NOT NULL) " +
+                   "OR (SELECT COALESCE(SUM(paid), 0) FROM patient_balances) <> " +
+                   "(SELECT COALESCE(SUM(p.amount), 0) FROM payments p JOIN bills b ON p.bill_id = b.id " +
+                   "WHERE b.patient_id IS NOT NULL)", nativeQuery = true)
+    boolean isStale();
+
+    // Overwrites every patient's row with totals recomputed from bills and payments; safe to repeat
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "patient_balances"))
+    @Query(value = "MERGE INTO patient_balances t USING (" +
+                   "SELECT bl.patient_id, bl.patient_name, bl.billed, COALESCE(pd.paid, 0) AS paid, " +
+                   "bl.last_bill_date, pd.last_payment_date FROM (" +
+                   "SELECT patient_id, MAX(patient_name) AS patient_name, COALESCE(SUM(total), 0) AS billed, " +
+                   "MAX(issue_date) AS last_bill_date FROM bills WHERE patient_id IS NOT NULL GROUP BY patient_id) bl " +
+                   "LEFT JOIN (SELECT b.patient_id, COALESCE(SUM(p.amount), 0) AS paid, MAX(p.date) AS last_payment_date " +
+                   "FROM payments p JOIN bills b ON p.bill_id = b.id GROUP BY b.patient_id) pd " +
+                   "ON pd.patient_id = bl.patient_id) s ON t.patient_id = s.patient_id " +
+                   "WHEN MATCHED THEN UPDATE SET patient_name = s.patient_name, billed = s.billed, paid = s.paid, " +
+                   "outstanding = s.billed - s.paid, last_bill_date = s.last_bill_date, " +
+                   "last_payment_date = s.last_payment_date " +
+                   "WHEN NOT MATCHED THEN INSERT (patient_id, patient_name, billed, paid, outstanding, " +
+                   "last_bill_date, last_payment_date) VALUES (s.patient_id, s.patient_name, s.billed, s.paid, " +
+                   "s.billed - s.paid, s.last_bill_date, s.last_payment_date)", nativeQuery = true)
+    int mergeFromBillsAndPayments();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "patient_balances"))
+    @Query(value = "DELETE FROM patient_balances t " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM bills b WHERE b.patient_id = t.patient_id)", nativeQuery = true)
+    int deleteWithoutBills();
+}
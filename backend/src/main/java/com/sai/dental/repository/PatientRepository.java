@@ -1,12 +1,20 @@
 package com.sai.dental.repository;
 
+import com.sai.dental.dto.PatientSummary;
 import com.sai.dental.entity.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
@@ -22,4 +30,37 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     
     @Query("SELECT p FROM Patient p ORDER BY p.registrationDate DESC")
     List<Patient> findAllOrderByRegistrationDateDesc();
+    
+    @Query("SELECT new com.sai.dental.dto.PatientSummary(p.id, p.firstName, p.lastName, p.email, p.phone, " +
+           "p.dateOfBirth, p.gender, p.registrationDate, p.lastVisit, p.nextAppointment, p.totalVisits) " +
+           "FROM Patient p ORDER BY p.registrationDate DESC, p.id DESC")
+    List<PatientSummary> findSummaryFirstPage(Pageable pageable);
+    
+    @Query("SELECT new com.sai.dental.dto.PatientSummary(p.id, p.firstName, p.lastName, p.email, p.phone, " +
+           "p.dateOfBirth, p.gender, p.registrationDate, p.lastVisit, p.nextAppointment, p.totalVisits) " +
+           "FROM Patient p WHERE p.registrationDate < :registrationDate " +
+           "OR (p.registrationDate = :registrationDate AND p.id < :id) " +
+           "ORDER BY p.registrationDate DESC, p.id DESC")
+    List<PatientSummary> findSummaryPageAfter(LocalDateTime registrationDate, Long id, Pageable pageable);
+    
+    @Query("SELECT p.id, m FROM Patient p JOIN p.medicalHistory m WHERE p.id IN :ids")
+    List<Object[]> findMedicalHistoryByPatientIds(Collection<Long> ids);
+    
+    @Query("SELECT p.id, a FROM Patient p JOIN p.allergies a WHERE p.id IN :ids")
+    List<Object[]> findAllergiesByPatientIds(Collection<Long> ids);
+    
+    @Query("SELECT p.email, p.phone FROM Patient p")
+    List<Object[]> findContactKeys();
+    
+    long countByRegistrationDateGreaterThanEqual(LocalDateTime registrationDate);
+    
+    @Query("SELECT p.id, p.firstName, p.lastName, p.email, p.phone FROM Patient p")
+    List<Object[]> findSearchFields();
+    
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BillRepository.EXPORT_FETCH_SIZE),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p.id, p.firstName, p.lastName, p.email, p.phone, p.dateOfBirth, p.gender, " +
+           "p.address.street, p.address.city, p.address.state, p.address.zipCode, " +
+           "p.registrationDate, p.lastVisit, p.totalVisits FROM Patient p ORDER BY p.id")
+    Stream<Object[]> streamPatientsForExport();
 }
@@ -1,12 +1,19 @@
 package com.sai.dental.repository;
 
 import com.sai.dental.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -16,6 +23,27 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.date BETWEEN :startDate AND :endDate ORDER BY p.date DESC")
     List<Payment> findPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE DATE(p.date) = DATE(:date)")
-    Double getTotalPaymentsForDate(LocalDateTime date);
+    // A half-open range on the raw column keeps idx_payments_date usable, unlike DATE(p.date) = ...
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.date >= :startDate AND p.date < :endDate")
+    BigDecimal sumPaymentsBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    default BigDecimal getTotalPaymentsForDate(LocalDateTime date) {
+        LocalDateTime startOfDay = date.toLocalDate().atStartOfDay();
+        return sumPaymentsBetween(startOfDay, startOfDay.plusDays(1));
+    }
+    
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p, Bill b WHERE p.billId = b.id " +
+           "AND (b.status = 'OVERDUE' OR (b.dueDate < :currentDate AND b.status IN ('SENT', 'PARTIAL')))")
+    BigDecimal sumPaidOnOverdueBills(LocalDate currentDate);
+    
+    @Query("SELECT b.patientId, SUM(p.amount), MAX(p.date) FROM Payment p, Bill b " +
+           "WHERE p.billId = b.id AND b.patientId IN :patientIds GROUP BY b.patientId")
+    List<Object[]> sumPaidByPatient(Collection<Long> patientIds);
+    
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BillRepository.EXPORT_FETCH_SIZE),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p.id, p.billId, b.billNumber, b.patientId, b.patientName, p.amount, p.method, p.date, " +
+           "p.reference, p.notes FROM Payment p LEFT JOIN Bill b ON b.id = p.billId " +
+           "WHERE p.date >= :startDate AND p.date < :endDate ORDER BY p.date, p.id")
+    Stream<Object[]> streamPaymentsForExport(LocalDateTime startDate, LocalDateTime endDate);
 }
@@ -2,7 +2,10 @@ package com.sai.dental.repository;
 
 import com.sai.dental.entity.ServiceCategory;
 import com.sai.dental.entity.ServiceTemplate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,7 @@ import java.util.List;
 @Repository
 public interface ServiceTemplateRepository extends JpaRepository<ServiceTemplate, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ServiceTemplate> findByCategory(ServiceCategory category);
     
     List<ServiceTemplate> findByNameContainingIgnoreCase(String name);
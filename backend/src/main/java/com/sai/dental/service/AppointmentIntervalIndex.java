@@ -0,0 +1,344 @@
+package com.sai.dental.service;
+
+import com.sai.dental.dto.FreeSlot;
+import com.sai.dental.entity.Appointment;
+import com.sai.dental.entity.AppointmentStatus;
+import com.sai.dental.entity.MinuteOfDay;
+import com.sai.dental.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-day, per-doctor index of booked intervals (minute of day, end exclusive).
+ * Each doctor's day is an immutable array sorted by start minute with a running
+ * maximum of end minutes, so "does anything overlap [start, end)" is a binary
+ * search plus one comparison. Days are loaded from the database the first time
+ * they are asked for and then kept current by {@link AppointmentService}; at most
+ * clinic.conflict-index.max-days are kept, least recently used first out.
+ */
+@Component
+public class AppointmentIntervalIndex {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Value("${clinic.hours.open:09:00}")
+    private String openingTime;
+
+    @Value("${clinic.hours.close:18:00}")
+    private String closingTime;
+
+    @Value("${clinic.free-slots.horizon-days:30}")
+    private int horizonDays;
+
+    // Needs to stay above free-slots.horizon-days, or one free-slot search would evict its own days
+    @Value("${clinic.conflict-index.max-days:180}")
+    private int maxDays;
+
+    private final ConcurrentHashMap<LocalDate, Map<String, DoctorDay>> days = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LocalDate> dateById = new ConcurrentHashMap<>();
+    // Last access per loaded day, so the least recently used day is dropped once there are more than maxDays
+    private final ConcurrentHashMap<LocalDate, Long> lastUsed = new ConcurrentHashMap<>();
+    private final AtomicLong accessClock = new AtomicLong();
+
+    public void index(Appointment appointment) {
+        if (appointment == null || appointment.getId() == null) {
+            return;
+        }
+        remove(appointment.getId());
+        Interval interval = Interval.of(appointment);
+        if (interval == null) {
+            return;
+        }
+        // Days nobody has asked about yet are loaded lazily with this row already in them
+        days.computeIfPresent(appointment.getAppointmentDate(), (date, day) -> {
+            dateById.put(interval.id, date);
+            return withInterval(day, interval);
+        });
+    }
+
+    public void remove(Long appointmentId) {
+        LocalDate date = dateById.remove(appointmentId);
+        if (date != null) {
+            days.computeIfPresent(date, (key, day) -> withoutInterval(day, appointmentId));
+        }
+    }
+
+    // Drops a whole day after a set-based update; it is reloaded the next time it is asked for
+    public void evictDay(LocalDate date) {
+        lastUsed.remove(date);
+        Map<String, DoctorDay> day = days.remove(date);
+        if (day != null) {
+            day.values().forEach(doctorDay -> Arrays.stream(doctorDay.ids).forEach(dateById::remove));
+        }
+    }
+
+    public void clear() {
+        days.clear();
+        dateById.clear();
+        lastUsed.clear();
+    }
+
+    public boolean hasConflict(LocalDate date, String doctorName, String startTime, String endTime,
+                               Integer duration, Long excludeId) {
+        int start = MinuteOfDay.parse(startTime);
+        int end = MinuteOfDay.resolveEnd(start, endTime, duration);
+        Map<String, DoctorDay> day = day(date);
+        if (doctorName == null || doctorName.isBlank()) {
+            for (DoctorDay doctorDay : day.values()) {
+                if (doctorDay.overlaps(start, end, excludeId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        DoctorDay doctorDay = day.get(doctorKey(doctorName));
+        return doctorDay != null && doctorDay.overlaps(start, end, excludeId);
+    }
+
+    public List<FreeSlot> findFreeSlots(String doctorName, LocalDate fromDate, String fromTime,
+                                        int duration, int count) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Slot duration must be positive");
+        }
+        int open = MinuteOfDay.parse(openingTime);
+        int close = MinuteOfDay.parse(closingTime);
+        int from = fromTime != null ? MinuteOfDay.parse(fromTime) : open;
+        String key = doctorKey(doctorName);
+
+        List<FreeSlot> slots = new ArrayList<>(count);
+        LocalDate date = fromDate;
+        for (int i = 0; i <= horizonDays && slots.size() < count; i++, date = date.plusDays(1)) {
+            DoctorDay doctorDay = day(date).getOrDefault(key, DoctorDay.EMPTY);
+            int cursor = i == 0 ? Math.max(open, from) : open;
+            doctorDay.collectFreeSlots(cursor, close, duration, count - slots.size(), date, doctorName, slots);
+        }
+        return slots;
+    }
+
+    private Map<String, DoctorDay> day(LocalDate date) {
+        lastUsed.put(date, accessClock.incrementAndGet());
+        Map<String, DoctorDay> day = days.get(date);
+        if (day == null) {
+            day = days.computeIfAbsent(date, this::loadDay);
+            if (days.size() > maxDays) {
+                evictLeastRecentlyUsed(date);
+            }
+        }
+        return day;
+    }
+
+    // Any date a client sends is loaded, so without a cap the index would grow for the life of the process.
+    // Runs only after a day was loaded from the database, so the linear scan is small by comparison.
+    private synchronized void evictLeastRecentlyUsed(LocalDate keep) {
+        while (days.size() > maxDays) {
+            LocalDate eldest = null;
+            long oldest = Long.MAX_VALUE;
+            for (Map.Entry<LocalDate, Long> entry : lastUsed.entrySet()) {
+                if (entry.getValue() < oldest && !entry.getKey().equals(keep) && days.containsKey(entry.getKey())) {
+                    eldest = entry.getKey();
+                    oldest = entry.getValue();
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            evictDay(eldest);
+        }
+    }
+
+    private Map<String, DoctorDay> loadDay(LocalDate date) {
+        Map<String, List<Interval>> byDoctor = new HashMap<>();
+        for (Appointment appointment : appointmentRepository.findByAppointmentDate(date)) {
+            Interval interval = Interval.of(appointment);
+            if (interval != null) {
+                byDoctor.computeIfAbsent(interval.doctorKey, key -> new ArrayList<>()).add(interval);
+                dateById.put(interval.id, date);
+            }
+        }
+        Map<String, DoctorDay> day = new HashMap<>();
+        byDoctor.forEach((doctor, intervals) -> day.put(doctor, DoctorDay.of(intervals)));
+        return day;
+    }
+
+    private static Map<String, DoctorDay> withInterval(Map<String, DoctorDay> day, Interval interval) {
+        Map<String, DoctorDay> copy = new HashMap<>(day);
+        copy.put(interval.doctorKey, copy.getOrDefault(interval.doctorKey, DoctorDay.EMPTY).with(interval));
+        return copy;
+    }
+
+    private static Map<String, DoctorDay> withoutInterval(Map<String, DoctorDay> day, Long id) {
+        Map<String, DoctorDay> copy = new HashMap<>(day);
+        copy.replaceAll((doctor, doctorDay) -> doctorDay.without(id));
+        copy.values().removeIf(doctorDay -> doctorDay.ids.length == 0);
+        return copy;
+    }
+
+    static String doctorKey(String doctorName) {
+        return doctorName == null ? "" : doctorName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Interval {
+        final long id;
+        final String doctorKey;
+        final int start;
+        final int end;
+
+        Interval(long id, String doctorKey, int start, int end) {
+            this.id = id;
+            this.doctorKey = doctorKey;
+            this.start = start;
+            this.end = end;
+        }
+
+        static Interval of(Appointment appointment) {
+            Integer start = appointment.getStartMinute();
+            if (appointment.getStatus() == AppointmentStatus.CANCELLED
+                    || appointment.getAppointmentDate() == null || start == null) {
+                return null;
+            }
+            return new Interval(appointment.getId(), doctorKey(appointment.getDoctorName()), start,
+                    appointment.getEndMinute());
+        }
+    }
+
+    private static final class DoctorDay {
+        static final DoctorDay EMPTY = new DoctorDay(new long[0], new int[0], new int[0]);
+
+        final long[] ids;
+        final int[] starts;
+        final int[] ends;
+        final int[] maxEnds;
+
+        DoctorDay(long[] ids, int[] starts, int[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new int[ends.length];
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        static DoctorDay of(List<Interval> intervals) {
+            intervals.sort((a, b) -> Integer.compare(a.start, b.start));
+            long[] ids = new long[intervals.size()];
+            int[] starts = new int[intervals.size()];
+            int[] ends = new int[intervals.size()];
+            for (int i = 0; i < intervals.size(); i++) {
+                ids[i] = intervals.get(i).id;
+                starts[i] = intervals.get(i).start;
+                ends[i] = intervals.get(i).end;
+            }
+            return new DoctorDay(ids, starts, ends);
+        }
+
+        DoctorDay with(Interval interval) {
+            int at = countStartsBefore(interval.start + 1);
+            return new DoctorDay(insert(ids, at, interval.id), insert(starts, at, interval.start),
+                    insert(ends, at, interval.end));
+        }
+
+        DoctorDay without(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return new DoctorDay(delete(ids, i), delete(starts, i), delete(ends, i));
+                }
+            }
+            return this;
+        }
+
+        boolean overlaps(int start, int end, Long excludeId) {
+            int candidates = countStartsBefore(end);
+            if (candidates == 0 || maxEnds[candidates - 1] <= start) {
+                return false;
+            }
+            if (excludeId == null) {
+                return true;
+            }
+            for (int i = candidates - 1; i >= 0 && maxEnds[i] > start; i--) {
+                if (ends[i] > start && ids[i] != excludeId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void collectFreeSlots(int from, int close, int duration, int wanted, LocalDate date,
+                              String doctorName, List<FreeSlot> slots) {
+            int i = countStartsBefore(from);
+            int cursor = i > 0 ? Math.max(from, maxEnds[i - 1]) : from;
+            int added = 0;
+            while (added < wanted && cursor + duration <= close) {
+                int gapEnd = i < starts.length ? Math.min(starts[i], close) : close;
+                if (cursor + duration <= gapEnd) {
+                    slots.add(new FreeSlot(date, doctorName, MinuteOfDay.format(cursor),
+                            MinuteOfDay.format(cursor + duration)));
+                    cursor += duration;
+                    added++;
+                } else if (i < starts.length) {
+                    cursor = Math.max(cursor, ends[i]);
+                    i++;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        // Number of intervals whose start is strictly before the given minute
+        private int countStartsBefore(int minute) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static long[] insert(long[] values, int at, long value) {
+            long[] copy = new long[values.length + 1];
+            System.arraycopy(values, 0, copy, 0, at);
+            copy[at] = value;
+            System.arraycopy(values, at, copy, at + 1, values.length - at);
+            return copy;
+        }
+
+        private static int[] insert(int[] values, int at, int value) {
+            int[] copy = new int[values.length + 1];
+            System.arraycopy(values, 0, copy, 0, at);
+            copy[at] = value;
+            System.arraycopy(values, at, copy, at + 1, values.length - at);
+            return copy;
+        }
+
+        private static long[] delete(long[] values, int at) {
+            long[] copy = Arrays.copyOf(values, values.length - 1);
+            System.arraycopy(values, at + 1, copy, at, values.length - at - 1);
+            return copy;
+        }
+
+        private static int[] delete(int[] values, int at) {
+            int[] copy = Arrays.copyOf(values, values.length - 1);
+            System.arraycopy(values, at + 1, copy, at, values.length - at - 1);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.MinuteOfDay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills start_minute, end_minute and start_at for appointments written before those
+ * columns existed. Runs in the background after startup in small keyset batches, each
+ * in its own short transaction, so the application serves requests throughout; until a
+ * row is reached, readers fall back to parsing its start and end time strings.
+ */
+@Component
+public class AppointmentScheduleBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentScheduleBackfill.class);
+
+    private static final String SELECT_PENDING = "SELECT id, appointment_date, start_time, end_time, duration " +
+            "FROM appointments WHERE start_minute IS NULL AND id > ? ORDER BY id LIMIT ?";
+    // The IS NULL guard leaves rows alone that the application saved in the meantime
+    private static final String UPDATE_ROW = "UPDATE appointments SET start_minute = ?, end_minute = ?, " +
+            "start_at = ? WHERE id = ? AND start_minute IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${appointments.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${appointments.backfill.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${appointments.backfill.pause-ms:50}")
+    private long pauseMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "appointment-schedule-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void run() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long lastId = 0;
+        long filled = 0;
+        long unreadable = 0;
+        try {
+            while (true) {
+                List<Object[]> updates = new ArrayList<>(batchSize);
+                long[] cursor = {lastId};
+                long[] skipped = {0};
+                jdbcTemplate.query(SELECT_PENDING, rs -> {
+                    cursor[0] = rs.getLong("id");
+                    Integer start = MinuteOfDay.parseOrNull(rs.getString("start_time"));
+                    if (start == null) {
+                        skipped[0]++;
+                        return;
+                    }
+                    LocalDate date = rs.getObject("appointment_date", LocalDate.class);
+                    int end = MinuteOfDay.resolveEnd(start, MinuteOfDay.parseOrNull(rs.getString("end_time")),
+                            (Integer) rs.getObject("duration"));
+                    updates.add(new Object[] {start, end,
+                            date != null ? Timestamp.valueOf(date.atStartOfDay().plusMinutes(start)) : null,
+                            cursor[0]});
+                }, lastId, batchSize);
+                if (cursor[0] == lastId) {
+                    break;
+                }
+                lastId = cursor[0];
+                unreadable += skipped[0];
+                if (!updates.isEmpty()) {
+                    transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_ROW, updates));
+                    filled += updates.size();
+                }
+                if (pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            log.error("Appointment schedule backfill stopped after {} rows; it resumes on the next start", filled, e);
+            return;
+        }
+        if (filled > 0 || unreadable > 0) {
+            log.info("Appointment schedule backfill filled {} rows; {} rows have an unreadable start time",
+                    filled, unreadable);
+        }
+    }
+}
@@ -1,36 +1,59 @@
 package com.sai.dental.service;
 
+import com.sai.dental.dto.BulkStatusResult;
+import com.sai.dental.dto.CalendarDay;
+import com.sai.dental.dto.ChangeEvent;
+import com.sai.dental.dto.FreeSlot;
+import com.sai.dental.dto.ReminderDispatchResult;
 import com.sai.dental.entity.Appointment;
 import com.sai.dental.entity.AppointmentStatus;
 import com.sai.dental.entity.Reminder;
 import com.sai.dental.repository.AppointmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AppointmentService {
 
+    private static final int STATUS_UPDATE_BATCH_SIZE = 500;
+    private static final Comparator<Appointment> DATE_RANGE_ORDER = Comparator
+            .comparing(Appointment::getAppointmentDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Appointment::getStartMinute, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Appointment::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     @Autowired
     private AppointmentRepository appointmentRepository;
-    
-    private final String TOKEN = "EAAJWxQ7GZBf0BPFrhEZCTZAnI0O1ZCoMjScCbQZAFijOZBXdJRvoVDVnQKSXZCnrhLecSdF9ufi60hko5aHFblpjrLGE9GoxQs9LxaPN6K16lvnLnEbKxG7BMq6z9m3QjHYTcXqvZCsHAT5s0RAx2IvCIJmmZCtCIXFLVIaEChGR1qDjtTHRx7ABXwrybgf5NEWM7LIA2ZCoQVZBf1F0jsK92YgHrG7Mg93QPaYGZBhy5APIROMDvkorpOnZChibvw9anDQZDZD";
-    private final String PHONE_NUMBER_ID = "734312796430500";//475473372313270
-    
-    
+
+    @Autowired
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
+    @Autowired
+    private CalendarScheduleCache calendarScheduleCache;
+
+    @Autowired
+    private ReminderDispatchService reminderDispatchService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ChangeFeed changeFeed;
 
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
@@ -44,7 +67,14 @@ public class AppointmentService {
         if (appointment.getReminder() == null) {
             appointment.setReminder(new Reminder());
         }
-        return appointmentRepository.save(appointment);
+        boolean isNew = appointment.getId() == null;
+        Appointment saved = appointmentRepository.save(appointment);
+        appointmentIntervalIndex.index(saved);
+        calendarScheduleCache.evict(saved.getId(), saved.getAppointmentDate());
+        dashboardService.invalidate();
+        changeFeed.publish(ChangeEvent.APPOINTMENT, isNew ? ChangeEvent.CREATED : ChangeEvent.UPDATED,
+                saved.getId(), saved);
+        return saved;
     }
 
     public Appointment updateAppointment(Long id, Appointment appointmentDetails) {
@@ -63,13 +93,84 @@ public class AppointmentService {
                     if (appointmentDetails.getReminder() != null) {
                         appointment.setReminder(appointmentDetails.getReminder());
                     }
-                    return appointmentRepository.save(appointment);
+                    Appointment saved = appointmentRepository.save(appointment);
+                    appointmentIntervalIndex.index(saved);
+                    calendarScheduleCache.evict(saved.getId(), saved.getAppointmentDate());
+                    dashboardService.invalidate();
+                    changeFeed.publish(ChangeEvent.APPOINTMENT, ChangeEvent.UPDATED, saved.getId(), saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id " + id));
     }
 
     public void deleteAppointment(Long id) {
         appointmentRepository.deleteById(id);
+        appointmentIntervalIndex.remove(id);
+        calendarScheduleCache.evict(id, null);
+        dashboardService.invalidate();
+        changeFeed.publish(ChangeEvent.APPOINTMENT, ChangeEvent.DELETED, id, null);
+    }
+
+    @Transactional
+    public BulkStatusResult updateStatuses(Collection<Long> ids, AppointmentStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one appointment id is required");
+        }
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        Set<AppointmentStatus> sources = AppointmentStatus.allowedSources(status);
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> eligible = new HashSet<>();
+        int updated = 0;
+        for (int from = 0; from < requested.size(); from += STATUS_UPDATE_BATCH_SIZE) {
+            List<Long> batch = requested.subList(from, Math.min(from + STATUS_UPDATE_BATCH_SIZE, requested.size()));
+            // The status predicate stays in the UPDATE so a row changed in between is not overwritten
+            eligible.addAll(appointmentRepository.findIdsWithStatus(batch, sources));
+            updated += appointmentRepository.updateStatus(batch, sources, status, now);
+        }
+        if (status == AppointmentStatus.CANCELLED) {
+            afterCommit(() -> eligible.forEach(appointmentIntervalIndex::remove));
+        }
+        calendarScheduleCache.evictAll(eligible);
+        dashboardService.invalidate();
+        if (!eligible.isEmpty()) {
+            changeFeed.publishBulk(ChangeEvent.APPOINTMENT, ChangeEvent.STATUS_CHANGED, eligible,
+                    Map.of("status", status.name()));
+        }
+        List<Long> skipped = requested.stream().filter(id -> !eligible.contains(id)).toList();
+        return new BulkStatusResult(status.name(), requested.size(), updated, skipped);
+    }
+
+    @Transactional
+    public BulkStatusResult updateStatusesForDate(LocalDate date, AppointmentStatus status,
+                                                  Set<AppointmentStatus> fromStatuses) {
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        Set<AppointmentStatus> sources = AppointmentStatus.allowedSources(status);
+        if (fromStatuses != null && !fromStatuses.isEmpty()) {
+            for (AppointmentStatus from : fromStatuses) {
+                if (!sources.contains(from)) {
+                    throw new IllegalArgumentException("Cannot move appointments from " + from + " to " + status);
+                }
+            }
+            sources = EnumSet.copyOf(fromStatuses);
+        }
+        int updated = sources.isEmpty() ? 0
+                : appointmentRepository.updateStatusForDate(date, sources, status, LocalDateTime.now());
+        if (updated > 0 && status == AppointmentStatus.CANCELLED) {
+            afterCommit(() -> appointmentIntervalIndex.evictDay(date));
+        }
+        if (updated > 0) {
+            calendarScheduleCache.evictDay(date);
+            // The ids are not known here; clients reload the day
+            changeFeed.publishBulk(ChangeEvent.APPOINTMENT, ChangeEvent.STATUS_CHANGED, null,
+                    Map.of("status", status.name(), "appointmentDate", date.toString()));
+        }
+        dashboardService.invalidate();
+        return new BulkStatusResult(status.name(), updated, updated, List.of());
     }
 
     public List<Appointment> getAppointmentsByPatientId(Long patientId) {
@@ -80,8 +181,17 @@ public class AppointmentService {
         return appointmentRepository.findByAppointmentDate(date);
     }
 
+    public List<CalendarDay> getCalendar(LocalDate startDate, LocalDate endDate) {
+        return calendarScheduleCache.getDays(startDate, endDate);
+    }
+
     public List<Appointment> getAppointmentsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return appointmentRepository.findAppointmentsInDateRange(startDate, endDate);
+        // The database sorts rows the backfill has not reached (NULL start_minute) first within a day;
+        // getStartMinute parses their strings, and the input is already nearly sorted, so this is cheap
+        List<Appointment> appointments = new ArrayList<>(
+                appointmentRepository.findAppointmentsInDateRange(startDate, endDate));
+        appointments.sort(DATE_RANGE_ORDER);
+        return appointments;
     }
 
     public List<Appointment> getAppointmentsByStatus(AppointmentStatus status) {
@@ -89,89 +199,42 @@ public class AppointmentService {
     }
 
     public boolean hasConflictingAppointments(LocalDate date, String startTime) {
-        List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(date, startTime);
-        return !conflicts.isEmpty();
+        return hasConflictingAppointments(date, startTime, null, null, null, null);
+    }
+
+    public boolean hasConflictingAppointments(LocalDate date, String startTime, String endTime, Integer duration,
+                                              String doctorName, Long excludeId) {
+        return appointmentIntervalIndex.hasConflict(date, doctorName, startTime, endTime, duration, excludeId);
+    }
+
+    public List<FreeSlot> findFreeSlots(String doctorName, LocalDate fromDate, String fromTime, int duration, int count) {
+        return appointmentIntervalIndex.findFreeSlots(doctorName, fromDate, fromTime, duration, count);
     }
 
     public Appointment sendReminder(Long appointmentId) {
-    	
-    	
-    	
-    	 try {
-             String url = "https://graph.facebook.com/v18.0/" + PHONE_NUMBER_ID + "/messages";
-
-             RestTemplate restTemplate = new RestTemplate();
-             HttpHeaders headers = new HttpHeaders();
-             headers.setContentType(MediaType.APPLICATION_JSON);
-             headers.setBearerAuth(TOKEN);
-
-             Map<String, Object> body = new HashMap<>();
-             body.put("messaging_product", "whatsapp");
-             body.put("to", "91" + "7507532330");
-             body.put("type", "template");
-             Map<String, Object> template = new HashMap<>();
-             template.put("name", "appointment_reminder");
-
-             // language: { code: "en_US" }
-             Map<String, String> language = new HashMap<>();
-             language.put("code", "en_US");
-             template.put("language", language);
-
-             // parameters
-             List<Map<String, Object>> parameters = new ArrayList<>();
-
-             Map<String, Object> param1 = new HashMap<>();
-             param1.put("type", "text");
-             param1.put("text", "Siddhu");
-
-             Map<String, Object> param2 = new HashMap<>();
-             param2.put("type", "text");
-             param2.put("text", "Today");
-
-             Map<String, Object> param3 = new HashMap<>();
-             param3.put("type", "text");
-             param3.put("text", "Sai Dental Care");
-
-             parameters.add(param1);
-             parameters.add(param2);
-             parameters.add(param3);
-
-             // component
-             Map<String, Object> component = new HashMap<>();
-             component.put("type", "body");
-             component.put("parameters", parameters);
-
-             List<Map<String, Object>> components = new ArrayList<>();
-             components.add(component);
-
-             template.put("components", components);
-
-             body.put("template", template);
-
-             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-             ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
-
-              ResponseEntity.ok(response.getBody());
-         } catch (Exception e) {
-              ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                  .body("Failed: " + e.getMessage());
-         }
-    	
-    	
-    	
-        return appointmentRepository.findById(appointmentId)
-                .map(appointment -> {
-                    if (appointment.getReminder() == null) {
-                        appointment.setReminder(new Reminder());
-                    }
-                    appointment.getReminder().setSent(true);
-                    appointment.getReminder().setSentDate(LocalDateTime.now());
-                    return appointmentRepository.save(appointment);
-                })
-                .orElseThrow(() -> new RuntimeException("Appointment not found with id " + appointmentId));
+        return reminderDispatchService.sendNow(appointmentId);
+    }
+
+    public ReminderDispatchResult sendDueReminders() {
+        return reminderDispatchService.dispatchDueReminders();
     }
 
     public List<Appointment> getAppointmentsForReminder(LocalDate date) {
         return appointmentRepository.findAppointmentsForReminder(date);
     }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Before commit a rollback would leave live bookings out of the index, and a concurrent
+            // conflict check could reload the day with the rows not yet cancelled
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
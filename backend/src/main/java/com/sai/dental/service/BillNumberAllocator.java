@@ -0,0 +1,116 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.BillNumberSequence;
+import com.sai.dental.repository.BillNumberSequenceRepository;
+import com.sai.dental.repository.BillRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out INV-yyyyMM-NNN numbers from a per-month database sequence.
+ * Numbers are reserved in blocks in their own transaction; within a block,
+ * allocation is a single atomic increment. A restart loses at most the unused
+ * remainder of one block per month. Callers must not be inside a transaction:
+ * threads waiting for a refill would otherwise each hold a pooled connection
+ * while the refill waits for one of its own.
+ */
+@Component
+public class BillNumberAllocator {
+
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private BillNumberSequenceRepository sequenceRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${billing.number.block-size:50}")
+    private int blockSize;
+
+    private final ConcurrentHashMap<String, Block> blocks = new ConcurrentHashMap<>();
+    // A lock rather than synchronized: the refill runs a database transaction, which would pin a virtual thread
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public String nextBillNumber() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Bill numbers must be allocated before the transaction starts");
+        }
+        String period = LocalDate.now().format(PERIOD_FORMAT);
+        while (true) {
+            Block block = blocks.get(period);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.limit) {
+                    return String.format("INV-%s-%03d", period, value);
+                }
+            }
+            refill(period, block);
+        }
+    }
+
+    private void refill(String period, Block exhausted) {
+        refillLock.lock();
+        try {
+            if (blocks.get(period) != exhausted) {
+                // Another thread already replaced the block while we were waiting
+                return;
+            }
+            blocks.put(period, reserveBlock(period));
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block reserveBlock(String period) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(status -> {
+            BillNumberSequence sequence = sequenceRepository.findForUpdate(period)
+                    .orElseGet(() -> sequenceRepository.save(
+                            new BillNumberSequence(period, highestIssuedNumber(period) + 1)));
+            long start = sequence.getNextValue();
+            sequence.setNextValue(start + blockSize);
+            sequenceRepository.save(sequence);
+            return new Block(start, start + blockSize);
+        });
+    }
+
+    // Only used the first time a month is seen, so bills numbered before the sequence existed are skipped
+    private long highestIssuedNumber(String period) {
+        String prefix = "INV-" + period + "-";
+        long highest = 0;
+        for (String billNumber : billRepository.findBillNumbersWithPrefix(prefix)) {
+            try {
+                highest = Math.max(highest, Long.parseLong(billNumber.substring(prefix.length())));
+            } catch (NumberFormatException e) {
+                // Manually entered bill numbers do not take part in the sequence
+            }
+        }
+        return highest;
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long limit;
+
+        Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
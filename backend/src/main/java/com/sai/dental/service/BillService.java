@@ -1,26 +1,75 @@
 package com.sai.dental.service;
 
+import com.sai.dental.dto.BulkImportResult;
+import com.sai.dental.dto.BulkStatusResult;
+import com.sai.dental.dto.ChangeEvent;
 import com.sai.dental.entity.Bill;
 import com.sai.dental.entity.BillItem;
 import com.sai.dental.entity.BillStatus;
 import com.sai.dental.entity.PaymentMethod;
 import com.sai.dental.repository.BillRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class BillService {
 
+    private static final Logger log = LoggerFactory.getLogger(BillService.class);
+    private static final int STATUS_UPDATE_BATCH_SIZE = 500;
+
     @Autowired
     private BillRepository billRepository;
 
+    @Autowired
+    private BillNumberAllocator billNumberAllocator;
+
+    @Autowired
+    private PatientBalanceService patientBalanceService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${billing.overdue.enabled:true}")
+    private boolean overdueJobEnabled;
+
     public List<Bill> getAllBills() {
         return billRepository.findAll();
     }
@@ -30,24 +79,139 @@ public class BillService {
     }
 
     public Bill saveBill(Bill bill) {
+        boolean isNew = bill.getId() == null;
+        // Numbered before the transaction starts: a block refill needs a connection of its own, and must not
+        // wait for one while this thread (and every thread queued behind the refill) already holds another
         if (bill.getBillNumber() == null || bill.getBillNumber().isEmpty()) {
-            bill.setBillNumber(generateBillNumber());
+            bill.setBillNumber(billNumberAllocator.nextBillNumber());
+        }
+
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // Calculate totals
+            calculateBillTotals(bill);
+
+            // Set bill reference for all items
+            for (BillItem item : bill.getItems()) {
+                item.setBill(bill);
+            }
+
+            Bill saved = billRepository.save(bill);
+            if (isNew) {
+                patientBalanceService.billAdded(saved);
+            } else {
+                patientBalanceService.recompute(List.of(saved.getPatientId()));
+            }
+            dashboardService.invalidate();
+            changeFeed.publish(ChangeEvent.BILL, isNew ? ChangeEvent.CREATED : ChangeEvent.UPDATED, saved.getId(), saved);
+            return saved;
+        });
+    }
+
+    public BulkImportResult saveBillsInBulk(Iterator<Bill> bills, int chunkSize) {
+        BulkImportResult result = new BulkImportResult();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Bill> chunk = new ArrayList<>(chunkSize);
+        List<Integer> positions = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        while (true) {
+            Bill bill;
+            try {
+                if (!bills.hasNext()) {
+                    break;
+                }
+                bill = bills.next();
+            } catch (RuntimeException e) {
+                // The rest of the stream cannot be read; keep what was already committed
+                result.recordFailure(index, null, "Unreadable input: " + e.getMessage());
+                break;
+            }
+            int position = index++;
+            result.recordReceived();
+
+            try {
+                prepareForBulkInsert(bill);
+            } catch (RuntimeException e) {
+                result.recordFailure(position, bill.getBillNumber(), e.getMessage());
+                continue;
+            }
+            Set<ConstraintViolation<Bill>> violations = validator.validate(bill);
+            if (!violations.isEmpty()) {
+                result.recordFailure(position, bill.getBillNumber(), violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            chunk.add(bill);
+            positions.add(position);
+            if (chunk.size() >= chunkSize) {
+                persistChunk(transaction, chunk, positions, result);
+                chunk.clear();
+                positions.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(transaction, chunk, positions, result);
+        }
+        dashboardService.invalidate();
+        if (result.getCreated() > 0) {
+            changeFeed.publishBulk(ChangeEvent.BILL, ChangeEvent.IMPORTED, null, Map.of("created", result.getCreated()));
+        }
+        return result;
+    }
+
+    private void prepareForBulkInsert(Bill bill) {
+        bill.setId(null);
+        if (bill.getBillNumber() == null || bill.getBillNumber().isEmpty()) {
+            bill.setBillNumber(billNumberAllocator.nextBillNumber());
+        }
+        if (bill.getDiscount() == null) {
+            bill.setDiscount(BigDecimal.ZERO);
         }
-        
-        // Calculate totals
-        calculateBillTotals(bill);
-        
-        // Set bill reference for all items
         for (BillItem item : bill.getItems()) {
+            item.setId(null);
             item.setBill(bill);
+            item.calculateTotal();
         }
-        
-        return billRepository.save(bill);
+        calculateBillTotals(bill);
     }
 
+    private void persistChunk(TransactionTemplate transaction, List<Bill> chunk, List<Integer> positions,
+                              BulkImportResult result) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                billRepository.saveAll(chunk);
+                patientBalanceService.billsAdded(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.recordCreated(chunk.size());
+        } catch (RuntimeException chunkFailure) {
+            // Retry row by row so one bad bill does not sink the rest of its chunk
+            for (int i = 0; i < chunk.size(); i++) {
+                Bill bill = chunk.get(i);
+                bill.setId(null);
+                bill.getItems().forEach(item -> item.setId(null));
+                try {
+                    transaction.executeWithoutResult(status -> {
+                        billRepository.save(bill);
+                        patientBalanceService.billAdded(bill);
+                    });
+                    result.recordCreated(1);
+                } catch (RuntimeException e) {
+                    result.recordFailure(positions.get(i), bill.getBillNumber(),
+                            NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+
+    @Transactional
     public Bill updateBill(Long id, Bill billDetails) {
         return billRepository.findById(id)
                 .map(bill -> {
+                    Long previousPatientId = bill.getPatientId();
                     bill.setPatientId(billDetails.getPatientId());
                     bill.setPatientName(billDetails.getPatientName());
                     bill.setAppointmentId(billDetails.getAppointmentId());
@@ -69,13 +233,22 @@ public class BillService {
                     // Recalculate totals
                     calculateBillTotals(bill);
                     
-                    return billRepository.save(bill);
+                    Bill saved = billRepository.save(bill);
+                    patientBalanceService.recompute(List.of(previousPatientId, saved.getPatientId()));
+                    dashboardService.invalidate();
+                    changeFeed.publish(ChangeEvent.BILL, ChangeEvent.UPDATED, saved.getId(), saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Bill not found with id " + id));
     }
 
+    @Transactional
     public void deleteBill(Long id) {
+        Optional<Long> patientId = billRepository.findPatientIdById(id);
         billRepository.deleteById(id);
+        patientId.ifPresent(patient -> patientBalanceService.recompute(List.of(patient)));
+        dashboardService.invalidate();
+        changeFeed.publish(ChangeEvent.BILL, ChangeEvent.DELETED, id, null);
     }
 
     public List<Bill> getBillsByPatientId(Long patientId) {
@@ -90,6 +263,55 @@ public class BillService {
         return billRepository.findOverdueBills(LocalDate.now());
     }
 
+    @Transactional
+    public BulkStatusResult updateStatuses(Collection<Long> ids, BillStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+        if (status == BillStatus.PAID) {
+            // Paying needs a payment method and date; use mark-paid or record a payment instead
+            throw new IllegalArgumentException("Bills cannot be marked PAID in bulk");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one bill id is required");
+        }
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        Set<BillStatus> sources = BillStatus.allowedSources(status);
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> eligible = new HashSet<>();
+        int updated = 0;
+        for (int from = 0; from < requested.size(); from += STATUS_UPDATE_BATCH_SIZE) {
+            List<Long> batch = requested.subList(from, Math.min(from + STATUS_UPDATE_BATCH_SIZE, requested.size()));
+            eligible.addAll(billRepository.findIdsWithStatus(batch, sources));
+            updated += billRepository.updateStatus(batch, sources, status, now);
+        }
+        dashboardService.invalidate();
+        if (!eligible.isEmpty()) {
+            changeFeed.publishBulk(ChangeEvent.BILL, ChangeEvent.STATUS_CHANGED, eligible, Map.of("status", status.name()));
+        }
+        List<Long> skipped = requested.stream().filter(id -> !eligible.contains(id)).toList();
+        return new BulkStatusResult(status.name(), requested.size(), updated, skipped);
+    }
+
+    @Scheduled(cron = "${billing.overdue.cron:0 5 0 * * *}")
+    public void scheduledMarkOverdue() {
+        if (overdueJobEnabled) {
+            BulkStatusResult result = markOverdueBills();
+            log.info("Overdue run: {} bill(s) moved to OVERDUE", result.getUpdated());
+        }
+    }
+
+    @Transactional
+    public BulkStatusResult markOverdueBills() {
+        int updated = billRepository.markOverdue(LocalDate.now(), LocalDateTime.now());
+        if (updated > 0) {
+            dashboardService.invalidate();
+            changeFeed.publishBulk(ChangeEvent.BILL, ChangeEvent.STATUS_CHANGED, null,
+                    Map.of("status", BillStatus.OVERDUE.name()));
+        }
+        return new BulkStatusResult(BillStatus.OVERDUE.name(), updated, updated, List.of());
+    }
+
     public List<Bill> getBillsByDateRange(LocalDate startDate, LocalDate endDate) {
         return billRepository.findBillsByDateRange(startDate, endDate);
     }
@@ -100,12 +322,15 @@ public class BillService {
                     bill.setStatus(BillStatus.PAID);
                     bill.setPaymentMethod(paymentMethod);
                     bill.setPaymentDate(LocalDateTime.now());
-                    return billRepository.save(bill);
+                    Bill saved = billRepository.save(bill);
+                    dashboardService.invalidate();
+                    changeFeed.publish(ChangeEvent.BILL, ChangeEvent.UPDATED, saved.getId(), saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Bill not found with id " + billId));
     }
 
-    private void calculateBillTotals(Bill bill) {
+    void calculateBillTotals(Bill bill) {
         BigDecimal subtotal = bill.getItems().stream()
                 .map(BillItem::getTotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -120,10 +345,4 @@ public class BillService {
         BigDecimal total = subtotal.add(tax).subtract(bill.getDiscount());
         bill.setTotal(total);
     }
-
-    private String generateBillNumber() {
-        String datePrefix = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMM"));
-        Long count = billRepository.countBillsForDate(LocalDate.now());
-        return String.format("INV-%s-%03d", datePrefix, count + 1);
-    }
 }
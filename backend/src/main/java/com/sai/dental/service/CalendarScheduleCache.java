@@ -0,0 +1,292 @@
+package com.sai.dental.service;
+
+import com.sai.dental.dto.CalendarDay;
+import com.sai.dental.dto.DoctorSchedule;
+import com.sai.dental.entity.AppointmentStatus;
+import com.sai.dental.entity.MinuteOfDay;
+import com.sai.dental.repository.AppointmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Calendar read model: each day's appointments grouped by doctor as compact slot
+ * arrays, kept in an LRU of recently viewed days (plus the weeks around today, loaded
+ * at startup). A miss loads every missing day of the requested range with one
+ * projection query; {@link AppointmentService} evicts exactly the days its writes
+ * touch once they commit.
+ */
+@Component
+public class CalendarScheduleCache {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${calendar.cache.max-days:180}")
+    private int maxDays;
+
+    @Value("${calendar.cache.max-range-days:42}")
+    private int maxRangeDays;
+
+    @Value("${calendar.cache.preload-days-back:7}")
+    private int preloadDaysBack;
+
+    @Value("${calendar.cache.preload-days-ahead:28}")
+    private int preloadDaysAhead;
+
+    // All three guarded by the map itself; days is in access order so the eldest entry is the LRU day
+    private final LinkedHashMap<LocalDate, CalendarDay> days = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, CalendarDay> eldest) {
+            if (size() <= maxDays) {
+                return false;
+            }
+            forgetIds(eldest.getValue());
+            return true;
+        }
+    };
+    private final Map<Long, LocalDate> dateById = new HashMap<>();
+    private long invalidations;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        LocalDate today = LocalDate.now();
+        load(today.minusDays(preloadDaysBack), today.plusDays(preloadDaysAhead), generation());
+    }
+
+    public List<CalendarDay> getDays(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        long span = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (span > maxRangeDays) {
+            throw new IllegalArgumentException("At most " + maxRangeDays + " days can be requested at once");
+        }
+
+        List<CalendarDay> result = new ArrayList<>((int) span);
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        long generation;
+        synchronized (days) {
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                CalendarDay day = days.get(date);
+                result.add(day);
+                if (day == null) {
+                    firstMissing = firstMissing == null ? date : firstMissing;
+                    lastMissing = date;
+                }
+            }
+            generation = invalidations;
+        }
+        int misses = (int) result.stream().filter(day -> day == null).count();
+        lookups("hit").increment(span - misses);
+        if (misses > 0) {
+            lookups("miss").increment(misses);
+            Map<LocalDate, CalendarDay> loaded = load(firstMissing, lastMissing, generation);
+            for (int i = 0; i < result.size(); i++) {
+                if (result.get(i) == null) {
+                    result.set(i, loaded.get(startDate.plusDays(i)));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Drops the day the appointment was cached under and the day it is on now (either may be null)
+    public void evict(Long appointmentId, LocalDate date) {
+        afterCommit(() -> {
+            synchronized (days) {
+                invalidations++;
+                LocalDate previous = appointmentId != null ? dateById.get(appointmentId) : null;
+                evictLocked(previous);
+                evictLocked(date);
+            }
+        });
+    }
+
+    public void evictAll(Collection<Long> appointmentIds) {
+        afterCommit(() -> {
+            synchronized (days) {
+                invalidations++;
+                for (Long id : appointmentIds) {
+                    evictLocked(dateById.get(id));
+                }
+            }
+        });
+    }
+
+    public void evictDay(LocalDate date) {
+        afterCommit(() -> {
+            synchronized (days) {
+                invalidations++;
+                evictLocked(date);
+            }
+        });
+    }
+
+    public void clear() {
+        synchronized (days) {
+            invalidations++;
+            days.clear();
+            dateById.clear();
+        }
+    }
+
+    private long generation() {
+        synchronized (days) {
+            return invalidations;
+        }
+    }
+
+    private Map<LocalDate, CalendarDay> load(LocalDate from, LocalDate to, long generation) {
+        Map<LocalDate, Map<String, List<Slot>>> byDate = new HashMap<>();
+        for (Object[] row : appointmentRepository.findCalendarRows(from, to)) {
+            Slot slot = Slot.of(row);
+            if (slot != null) {
+                byDate.computeIfAbsent((LocalDate) row[1], key -> new TreeMap<>())
+                        .computeIfAbsent(slot.doctorName, key -> new ArrayList<>())
+                        .add(slot);
+            }
+        }
+        Map<LocalDate, CalendarDay> loaded = new HashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            // Empty days are cached too, otherwise every Sunday would be a miss
+            List<DoctorSchedule> doctors = new ArrayList<>();
+            byDate.getOrDefault(date, Map.of()).forEach((doctor, slots) -> doctors.add(schedule(doctor, slots)));
+            loaded.put(date, new CalendarDay(date, List.copyOf(doctors)));
+        }
+        synchronized (days) {
+            // A write committed while we were reading; serve this result but don't keep it
+            if (invalidations == generation) {
+                loaded.forEach((date, day) -> {
+                    if (!days.containsKey(date)) {
+                        days.put(date, day);
+                        rememberIds(day);
+                    }
+                });
+            }
+        }
+        return loaded;
+    }
+
+    private static DoctorSchedule schedule(String doctorName, List<Slot> slots) {
+        slots.sort((a, b) -> a.start != b.start ? Integer.compare(a.start, b.start) : Long.compare(a.id, b.id));
+        int size = slots.size();
+        long[] ids = new long[size];
+        int[] starts = new int[size];
+        int[] durations = new int[size];
+        String[] statuses = new String[size];
+        long[] patientIds = new long[size];
+        String[] patientNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            Slot slot = slots.get(i);
+            ids[i] = slot.id;
+            starts[i] = slot.start;
+            durations[i] = slot.duration;
+            statuses[i] = slot.status;
+            patientIds[i] = slot.patientId;
+            patientNames[i] = slot.patientName;
+        }
+        return new DoctorSchedule(doctorName, ids, starts, durations, statuses, patientIds, patientNames);
+    }
+
+    private void evictLocked(LocalDate date) {
+        if (date != null) {
+            CalendarDay removed = days.remove(date);
+            if (removed != null) {
+                forgetIds(removed);
+            }
+        }
+    }
+
+    private void rememberIds(CalendarDay day) {
+        for (DoctorSchedule doctor : day.getDoctors()) {
+            for (long id : doctor.getIds()) {
+                dateById.put(id, day.getDate());
+            }
+        }
+    }
+
+    private void forgetIds(CalendarDay day) {
+        for (DoctorSchedule doctor : day.getDoctors()) {
+            for (long id : doctor.getIds()) {
+                dateById.remove(id);
+            }
+        }
+    }
+
+    private Counter lookups(String result) {
+        return Counter.builder("calendar.cache.lookups")
+                .description("Calendar days served from the schedule cache (hit) or loaded from the database (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evicting before commit would let a concurrent read cache the old rows again
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Slot {
+        final long id;
+        final String doctorName;
+        final int start;
+        final int duration;
+        final String status;
+        final long patientId;
+        final String patientName;
+
+        Slot(long id, String doctorName, int start, int duration, String status, long patientId, String patientName) {
+            this.id = id;
+            this.doctorName = doctorName;
+            this.start = start;
+            this.duration = duration;
+            this.status = status;
+            this.patientId = patientId;
+            this.patientName = patientName;
+        }
+
+        // Row layout follows AppointmentRepository.findCalendarRows; the string columns are only
+        // read for rows the typed-column backfill has not reached yet
+        static Slot of(Object[] row) {
+            Integer start = row[3] != null ? (Integer) row[3] : MinuteOfDay.parseOrNull((String) row[8]);
+            if (start == null) {
+                // Same rule as the interval index: a row without a readable start time has no slot
+                return null;
+            }
+            int end = row[4] != null ? (Integer) row[4]
+                    : MinuteOfDay.resolveEnd(start, MinuteOfDay.parseOrNull((String) row[9]), (Integer) row[10]);
+            AppointmentStatus status = (AppointmentStatus) row[5];
+            return new Slot((Long) row[0], row[2] != null ? (String) row[2] : "", start, end - start,
+                    status != null ? status.name() : null, row[6] != null ? (Long) row[6] : 0L, (String) row[7]);
+        }
+    }
+}
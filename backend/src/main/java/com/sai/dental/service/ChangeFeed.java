@@ -0,0 +1,258 @@
+package com.sai.dental.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sai.dental.dto.ChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process change bus behind the /api/changes Server-Sent Events stream. Services
+ * publish after their transaction commits; each event gets the next sequence id and is
+ * kept in a ring of recent events so a client reconnecting with Last-Event-ID gets what
+ * it missed. A client that fell further behind than the ring (or reconnects across a
+ * restart) gets a "reset" event and should reload its lists.
+ *
+ * All sending happens on one dispatcher thread, so every subscriber sees events in
+ * sequence order and a slow client never holds up the request that made the change.
+ */
+@Component
+public class ChangeFeed implements InitializingBean, DisposableBean {
+
+    public static final Set<String> ENTITIES =
+            Set.of(ChangeEvent.PATIENT, ChangeEvent.APPOINTMENT, ChangeEvent.BILL, ChangeEvent.PAYMENT);
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+    private static final long RECONNECT_MILLIS = 3_000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${changes.feed.buffer-size:1000}")
+    private int bufferSize;
+
+    @Value("${changes.feed.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${changes.feed.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${changes.feed.max-subscribers:100}")
+    private int maxSubscribers;
+
+    // Starts at the startup time in microseconds, so ids from before a restart are always older than the ring
+    private long sequence = System.currentTimeMillis() * 1_000;
+    private final ArrayDeque<ChangeEvent> recent = new ArrayDeque<>();
+
+    // Only touched on the dispatcher thread
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void afterPropertiesSet() {
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.execute(() -> {
+            subscribers.forEach(subscriber -> subscriber.emitter.complete());
+            subscribers.clear();
+        });
+        dispatcher.shutdown();
+    }
+
+    // Single-row change; data is the row as the API returns it, or null
+    public void publish(String entity, String action, Long id, Object data) {
+        afterCommit(new ChangeEvent(entity, action, id, null), data);
+    }
+
+    // Set-based change; null ids means "reload the collection"
+    public void publishBulk(String entity, String action, Collection<Long> ids, Map<String, ?> data) {
+        afterCommit(new ChangeEvent(entity, action, null, ids != null ? List.copyOf(ids) : null), data);
+    }
+
+    /**
+     * Opens a stream of changes to the given entity types (all when empty). With a
+     * lastEventId the stream resumes after it; without one it starts with a "sync" event
+     * carrying the current sequence id.
+     */
+    public SseEmitter subscribe(Set<String> entities, Long lastEventId) {
+        Set<String> filter = new HashSet<>();
+        if (entities != null) {
+            for (String entity : entities) {
+                String name = entity.trim().toLowerCase(Locale.ROOT);
+                if (!ENTITIES.contains(name)) {
+                    throw new IllegalArgumentException("Unknown entity: " + entity);
+                }
+                filter.add(name);
+            }
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many change feed subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(() -> {
+            subscriberCount.decrementAndGet();
+            dispatcher.execute(() -> subscribers.remove(subscriber));
+        });
+        emitter.onTimeout(emitter::complete);
+
+        synchronized (this) {
+            long current = sequence;
+            ChangeEvent oldest = recent.peekFirst();
+            boolean missed = lastEventId != null && (lastEventId > current
+                    || lastEventId < current && (oldest == null || oldest.getSequence() > lastEventId + 1));
+            List<ChangeEvent> backlog = lastEventId != null && !missed ? new ArrayList<>(recent) : List.of();
+            // Queued under the lock: events published after this snapshot are delivered after the replay
+            dispatcher.execute(() -> start(subscriber, lastEventId, missed, current, backlog));
+        }
+        return emitter;
+    }
+
+    private void afterCommit(ChangeEvent event, Object data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Serialized after the flush, so generated ids are in, and before the session closes
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    event.setData(toJson(data));
+                    append(event);
+                }
+            });
+        } else {
+            event.setData(toJson(data));
+            append(event);
+        }
+    }
+
+    private synchronized void append(ChangeEvent event) {
+        event.setSequence(++sequence);
+        event.setOccurredAt(LocalDateTime.now());
+        recent.addLast(event);
+        while (recent.size() > bufferSize) {
+            recent.removeFirst();
+        }
+        dispatcher.execute(() -> deliver(event));
+    }
+
+    private void start(Subscriber subscriber, Long lastEventId, boolean missed, long current,
+                       List<ChangeEvent> backlog) {
+        try {
+            if (lastEventId == null || missed) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(current))
+                        .name(missed ? "reset" : "sync")
+                        .reconnectTime(RECONNECT_MILLIS)
+                        .data(Map.of("sequence", current), MediaType.APPLICATION_JSON));
+            } else {
+                subscriber.emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("resumed"));
+                for (ChangeEvent event : backlog) {
+                    if (event.getSequence() > lastEventId && subscriber.wants(event)) {
+                        send(subscriber, event);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } catch (IOException | IllegalStateException e) {
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void deliver(ChangeEvent event) {
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            if (!subscriber.wants(event)) {
+                continue;
+            }
+            try {
+                send(subscriber, event);
+            } catch (IOException | IllegalStateException e) {
+                iterator.remove();
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    // Comments keep idle connections open through proxies and reveal clients that went away
+    private void heartbeat() {
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                iterator.remove();
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private static void send(Subscriber subscriber, ChangeEvent event) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(Long.toString(event.getSequence()))
+                .name("change")
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    private JsonNode toJson(Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.valueToTree(data);
+        } catch (RuntimeException e) {
+            // The id is still published; the client fetches the row itself
+            log.debug("Change event payload could not be serialized", e);
+            return null;
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<String> entities;
+
+        Subscriber(SseEmitter emitter, Set<String> entities) {
+            this.emitter = emitter;
+            this.entities = entities;
+        }
+
+        boolean wants(ChangeEvent event) {
+            return entities.isEmpty() || entities.contains(event.getEntity());
+        }
+    }
+}
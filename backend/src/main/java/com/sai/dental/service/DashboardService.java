@@ -0,0 +1,137 @@
+package com.sai.dental.service;
+
+import com.sai.dental.dto.DashboardSummary;
+import com.sai.dental.entity.AppointmentStatus;
+import com.sai.dental.repository.AppointmentRepository;
+import com.sai.dental.repository.BillRepository;
+import com.sai.dental.repository.DailyRevenueRepository;
+import com.sai.dental.repository.PatientRepository;
+import com.sai.dental.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Dashboard headline numbers, each computed by one aggregate query (or read from the
+ * daily revenue rollup) and cached for a few seconds. Writes that can move a number
+ * drop the cached copy once their transaction commits.
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    @Value("${dashboard.summary.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final AtomicReference<CachedSummary> cached = new AtomicReference<>();
+    // Bumped by every invalidation; an entry computed under an older value is never served
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DashboardSummary getSummary() {
+        LocalDate today = LocalDate.now();
+        long now = System.nanoTime();
+        long generation = invalidations.get();
+        CachedSummary current = cached.get();
+        if (current != null && current.generation == generation && current.summary.getDate().equals(today)
+                && now < current.expiresAt) {
+            return current.summary;
+        }
+        DashboardSummary summary = compute(today);
+        // A commit during compute may not be in these numbers; they are returned but not cached
+        if (invalidations.get() == generation) {
+            cached.compareAndSet(current, new CachedSummary(summary, now + ttlSeconds * 1_000_000_000L, generation));
+        }
+        return summary;
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Clearing before commit would let a concurrent read cache the old numbers again
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        invalidations.incrementAndGet();
+        cached.set(null);
+    }
+
+    private DashboardSummary compute(LocalDate today) {
+        DashboardSummary summary = new DashboardSummary();
+        summary.setDate(today);
+
+        Map<AppointmentStatus, Long> byStatus = new EnumMap<>(AppointmentStatus.class);
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        long appointmentsToday = 0;
+        for (Object[] row : appointmentRepository.countByStatusForDate(today)) {
+            if (row[0] != null) {
+                byStatus.put((AppointmentStatus) row[0], (Long) row[1]);
+            }
+            appointmentsToday += (Long) row[1];
+        }
+        summary.setAppointmentsByStatus(Collections.unmodifiableMap(byStatus));
+        summary.setAppointmentsToday(appointmentsToday);
+
+        List<Object[]> overdue = billRepository.summarizeOverdueBills(today);
+        Object[] overdueRow = overdue.isEmpty() ? new Object[] {0L, BigDecimal.ZERO} : overdue.get(0);
+        BigDecimal overdueBilled = (BigDecimal) overdueRow[1];
+        summary.setOverdueBillCount((Long) overdueRow[0]);
+        summary.setOverdueAmount(overdueBilled.subtract(paymentRepository.sumPaidOnOverdueBills(today)).max(BigDecimal.ZERO));
+
+        summary.setRevenueMonthToDate(dailyRevenueRepository.sumTotalBetween(today.withDayOfMonth(1), today));
+
+        summary.setNewPatientsToday(patientRepository.countByRegistrationDateGreaterThanEqual(today.atStartOfDay()));
+        summary.setNewPatientsMonthToDate(
+                patientRepository.countByRegistrationDateGreaterThanEqual(today.withDayOfMonth(1).atStartOfDay()));
+
+        summary.setGeneratedAt(LocalDateTime.now());
+        return summary;
+    }
+
+    private static final class CachedSummary {
+        final DashboardSummary summary;
+        final long expiresAt;
+        final long generation;
+
+        CachedSummary(DashboardSummary summary, long expiresAt, long generation) {
+            this.summary = summary;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+}
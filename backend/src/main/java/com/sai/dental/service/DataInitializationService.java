@@ -2,7 +2,10 @@ package com.sai.dental.service;
 
 import com.sai.dental.entity.*;
 import com.sai.dental.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Service;
 
@@ -10,10 +13,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class DataInitializationService implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializationService.class);
+
     @Autowired
     private PatientRepository patientRepository;
 
@@ -29,11 +36,32 @@ public class DataInitializationService implements CommandLineRunner {
     @Autowired
     private ServiceTemplateRepository serviceTemplateRepository;
 
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    // Seeding mode for load testing, e.g. --seed.patients=200000 --seed.years=5
+    @Value("${seed.patients:0}")
+    private int seedPatients;
+
     @Override
     public void run(String... args) throws Exception {
         if (patientRepository.count() == 0) {
-            initializeData();
+            if (seedPatients > 0) {
+                seedSyntheticData();
+            } else {
+                initializeData();
+            }
+        } else if (seedPatients > 0) {
+            log.warn("seed.patients ignored: the database already has patients; start from an empty database to seed");
+        }
+    }
+
+    private void seedSyntheticData() {
+        if (serviceTemplateRepository.count() == 0) {
+            createServiceTemplates();
         }
+        createMissingServiceTemplates();
+        syntheticDataGenerator.generate(seedPatients, serviceTemplateRepository.findAll());
     }
 
     private void initializeData() {
@@ -88,6 +116,37 @@ public class DataInitializationService implements CommandLineRunner {
         serviceTemplateRepository.save(crown);
     }
 
+    // Seeded appointments cover every type, so every type needs something to bill
+    private void createMissingServiceTemplates() {
+        Set<ServiceCategory> present = serviceTemplateRepository.findAll().stream()
+                .map(ServiceTemplate::getCategory)
+                .collect(Collectors.toSet());
+        addTemplateIfMissing(present, "Consultation", ServiceCategory.CONSULTATION, 500,
+                "Examination and treatment planning");
+        addTemplateIfMissing(present, "Dental Implant", ServiceCategory.IMPLANT, 35000,
+                "Titanium implant with abutment");
+        addTemplateIfMissing(present, "Orthodontic Adjustment", ServiceCategory.ORTHODONTICS, 3500,
+                "Braces wire adjustment");
+        addTemplateIfMissing(present, "Emergency Visit", ServiceCategory.EMERGENCY, 1500,
+                "Same-day pain relief and assessment");
+        addTemplateIfMissing(present, "Post-treatment Medication", ServiceCategory.MEDICATION, 300,
+                "Antibiotics and pain relief");
+        addTemplateIfMissing(present, "Dental X-Ray", ServiceCategory.OTHER, 800, "Intraoral radiograph");
+    }
+
+    private void addTemplateIfMissing(Set<ServiceCategory> present, String name, ServiceCategory category,
+                                      long price, String description) {
+        if (present.contains(category)) {
+            return;
+        }
+        ServiceTemplate template = new ServiceTemplate();
+        template.setName(name);
+        template.setCategory(category);
+        template.setDefaultPrice(BigDecimal.valueOf(price));
+        template.setDescription(description);
+        serviceTemplateRepository.save(template);
+    }
+
     private Patient createPatient1() {
         Patient patient = new Patient();
         patient.setFirstName("Rajesh");
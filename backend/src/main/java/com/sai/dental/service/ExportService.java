@@ -0,0 +1,138 @@
+package com.sai.dental.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sai.dental.dto.BulkItemFailure;
+import com.sai.dental.dto.ExportFormat;
+import com.sai.dental.repository.BillRepository;
+import com.sai.dental.repository.PatientRepository;
+import com.sai.dental.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams exports straight from forward-only repository queries to the response.
+ * Each method must run inside its own read-only transaction because the stream
+ * is consumed after the controller method has returned.
+ */
+@Service
+public class ExportService {
+
+    private static final String[] BILL_COLUMNS = {
+            "billId", "billNumber", "patientId", "patientName", "issueDate", "dueDate", "status",
+            "subtotal", "tax", "discount", "total", "paymentMethod", "paymentDate",
+            "itemDescription", "itemCategory", "itemQuantity", "itemUnitPrice", "itemTotal"
+    };
+    private static final int BILL_ITEM_OFFSET = 13;
+    private static final String[] BILL_ITEM_FIELDS = {"description", "category", "quantity", "unitPrice", "total"};
+
+    private static final String[] PAYMENT_COLUMNS = {
+            "paymentId", "billId", "billNumber", "patientId", "patientName", "amount", "method", "date",
+            "reference", "notes"
+    };
+
+    private static final String[] PATIENT_COLUMNS = {
+            "patientId", "firstName", "lastName", "email", "phone", "dateOfBirth", "gender",
+            "street", "city", "state", "zipCode", "registrationDate", "lastVisit", "totalVisits"
+    };
+
+    private static final String[] FAILURE_COLUMNS = {"index", "reference", "error"};
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportBills(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(format, BILL_COLUMNS, out, objectMapper);
+        try (Stream<Object[]> rows = billRepository.streamBillsWithItemsForExport(startDate, endDate)) {
+            if (format == ExportFormat.CSV) {
+                // One line per item, with the bill columns repeated
+                for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                    writer.writeRow(it.next());
+                }
+            } else {
+                writeBillsAsNestedRecords(rows.iterator(), writer);
+            }
+        }
+        writer.finish();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPayments(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(format, PAYMENT_COLUMNS, out, objectMapper);
+        try (Stream<Object[]> rows = paymentRepository.streamPaymentsForExport(startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay())) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                writer.writeRow(it.next());
+            }
+        }
+        writer.finish();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPatients(ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(format, PATIENT_COLUMNS, out, objectMapper);
+        try (Stream<Object[]> rows = patientRepository.streamPatientsForExport()) {
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                writer.writeRow(it.next());
+            }
+        }
+        writer.finish();
+    }
+
+    public void exportFailures(List<BulkItemFailure> failures, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(ExportFormat.CSV, FAILURE_COLUMNS, out, objectMapper);
+        for (BulkItemFailure failure : failures) {
+            writer.writeRow(new Object[] {failure.getIndex(), failure.getReference(), failure.getError()});
+        }
+        writer.finish();
+    }
+
+    // Rows arrive ordered by bill, so only the bill currently being assembled is held
+    private void writeBillsAsNestedRecords(Iterator<Object[]> rows, ExportWriter writer) throws IOException {
+        Object currentBillId = null;
+        Map<String, Object> bill = null;
+        List<Map<String, Object>> items = null;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            if (bill == null || !row[0].equals(currentBillId)) {
+                if (bill != null) {
+                    writer.writeRecord(bill);
+                }
+                currentBillId = row[0];
+                bill = writer.toRecord(row, 0, BILL_ITEM_OFFSET);
+                items = new ArrayList<>();
+                bill.put("items", items);
+            }
+            if (row[BILL_ITEM_OFFSET] != null) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                for (int i = 0; i < BILL_ITEM_FIELDS.length; i++) {
+                    item.put(BILL_ITEM_FIELDS[i], row[BILL_ITEM_OFFSET + i]);
+                }
+                items.add(item);
+            }
+        }
+        if (bill != null) {
+            writer.writeRecord(bill);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.sai.dental.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sai.dental.dto.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes one record at a time as a CSV line or an NDJSON line. Nothing is retained
+ * between records, so memory use does not depend on the size of the export.
+ */
+final class ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final String[] columns;
+    private final Writer writer;
+    private final ObjectWriter json;
+
+    ExportWriter(ExportFormat format, String[] columns, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.json = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(columns);
+        }
+    }
+
+    void writeRow(Object[] values) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(values);
+        } else {
+            writeJsonLine(toRecord(values, 0, columns.length));
+        }
+    }
+
+    void writeRecord(Map<String, Object> record) throws IOException {
+        writeJsonLine(record);
+    }
+
+    Map<String, Object> toRecord(Object[] values, int from, int to) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (int i = from; i < to; i++) {
+            record.put(columns[i], values[i]);
+        }
+        return record;
+    }
+
+    // Flushes the buffer without closing the response stream underneath
+    void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeJsonLine(Map<String, Object> record) throws IOException {
+        json.writeValue(writer, record);
+        writer.write('\n');
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            // Keep spreadsheets from evaluating free-text fields as formulas
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
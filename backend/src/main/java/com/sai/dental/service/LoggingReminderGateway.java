@@ -0,0 +1,37 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.Appointment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for the WhatsApp gateway: logs each reminder instead of sending it.
+ * An optional delay imitates the round trip of the real call for load tests.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.gateway", havingValue = "log")
+public class LoggingReminderGateway implements ReminderGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderGateway.class);
+
+    @Value("${reminders.log-gateway.delay-ms:0}")
+    private long delayMs;
+
+    @Override
+    public void send(Appointment appointment, String recipientPhone) {
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReminderDeliveryException("Interrupted while sending reminder", false);
+            }
+        }
+        log.info("Reminder for appointment {} ({} on {} at {}) to {}", appointment.getId(),
+                appointment.getPatientName(), appointment.getAppointmentDate(), appointment.getStartTime(),
+                recipientPhone);
+    }
+}
@@ -0,0 +1,132 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.Bill;
+import com.sai.dental.entity.Payment;
+import com.sai.dental.entity.PatientBalance;
+import com.sai.dental.repository.BillRepository;
+import com.sai.dental.repository.PatientBalanceRepository;
+import com.sai.dental.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Per-patient ledger of billed, paid and outstanding amounts. New bills and payments
+ * apply an atomic delta; edits and deletions recompute the affected patients from
+ * their own rows. All updates join the caller's transaction.
+ */
+@Service
+public class PatientBalanceService {
+
+    @Autowired
+    private PatientBalanceRepository patientBalanceRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    // Requests can already be saving bills here, so the ledger is only rebuilt when it has drifted
+    // (or was never built), and then with set-based upserts that tolerate rows written meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        if (!patientBalanceRepository.isStale()) {
+            return;
+        }
+        patientBalanceRepository.mergeFromBillsAndPayments();
+        patientBalanceRepository.deleteWithoutBills();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void billAdded(Bill bill) {
+        patientBalanceRepository.addBilled(bill.getPatientId(), bill.getPatientName(), bill.getTotal(),
+                bill.getIssueDate());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void billsAdded(List<Bill> bills) {
+        // One upsert per patient rather than per bill when a whole chunk is imported
+        Map<Long, Bill> latestByPatient = new HashMap<>();
+        Map<Long, BigDecimal> totalByPatient = new HashMap<>();
+        for (Bill bill : bills) {
+            totalByPatient.merge(bill.getPatientId(), bill.getTotal(), BigDecimal::add);
+            latestByPatient.merge(bill.getPatientId(), bill,
+                    (current, candidate) -> candidate.getIssueDate().isAfter(current.getIssueDate()) ? candidate : current);
+        }
+        totalByPatient.forEach((patientId, total) -> {
+            Bill latest = latestByPatient.get(patientId);
+            patientBalanceRepository.addBilled(patientId, latest.getPatientName(), total, latest.getIssueDate());
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void paymentAdded(Payment payment) {
+        billRepository.findPatientIdById(payment.getBillId()).ifPresent(patientId ->
+                patientBalanceRepository.addPaid(patientId, payment.getAmount(), payment.getDate()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recompute(Collection<Long> patientIds) {
+        Set<Long> ids = new HashSet<>(patientIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, PatientBalance> balances = aggregate(billRepository.sumBilledByPatient(ids),
+                paymentRepository.sumPaidByPatient(ids));
+        for (Long patientId : ids) {
+            PatientBalance balance = balances.get(patientId);
+            if (balance == null) {
+                patientBalanceRepository.deleteById(patientId);
+            } else {
+                patientBalanceRepository.save(balance);
+            }
+        }
+    }
+
+    public Optional<PatientBalance> getBalance(Long patientId) {
+        return patientBalanceRepository.findById(patientId);
+    }
+
+    public Page<PatientBalance> getBalances(boolean outstandingOnly, Pageable pageable) {
+        if (outstandingOnly) {
+            return patientBalanceRepository.findByOutstandingGreaterThan(BigDecimal.ZERO, pageable);
+        }
+        return patientBalanceRepository.findAll(pageable);
+    }
+
+    private Map<Long, PatientBalance> aggregate(List<Object[]> billedRows, List<Object[]> paidRows) {
+        Map<Long, PatientBalance> balances = new HashMap<>();
+        for (Object[] row : billedRows) {
+            PatientBalance balance = balances.computeIfAbsent((Long) row[0], PatientBalance::new);
+            balance.setPatientName((String) row[1]);
+            balance.setBilled(row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO);
+            balance.setLastBillDate((LocalDate) row[3]);
+        }
+        for (Object[] row : paidRows) {
+            PatientBalance balance = balances.computeIfAbsent((Long) row[0], PatientBalance::new);
+            balance.setPaid(row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO);
+            balance.setLastPaymentDate((LocalDateTime) row[2]);
+        }
+        balances.values().forEach(balance -> balance.setOutstanding(balance.getBilled().subtract(balance.getPaid())));
+        return balances;
+    }
+}
@@ -0,0 +1,220 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.Address;
+import com.sai.dental.entity.EmergencyContact;
+import com.sai.dental.entity.Patient;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads patients from an RFC 4180 CSV upload one record at a time. Columns are
+ * matched by header name (case-insensitive, unknown columns ignored), so files
+ * produced by the patient export can be imported as-is. List columns use ';'
+ * between values.
+ *
+ * A malformed value fails only its own record with an {@link IllegalArgumentException};
+ * an unreadable stream fails with an {@link UncheckedIOException}.
+ */
+public final class PatientCsvReader implements Iterator<Patient>, Closeable {
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private List<String> pending;
+    private boolean finished;
+
+    public PatientCsvReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = readRecord();
+        if (header == null) {
+            finished = true;
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            columns.put(name.toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("firstname") || !columns.containsKey("lastname")) {
+            throw new IOException("CSV header must include firstName and lastName columns");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null && !finished) {
+            try {
+                pending = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = pending == null;
+        }
+        return pending != null;
+    }
+
+    @Override
+    public Patient next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> record = pending;
+        pending = null;
+        return toPatient(record);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Patient toPatient(List<String> record) {
+        Patient patient = new Patient();
+        patient.setFirstName(text(record, "firstName"));
+        patient.setLastName(text(record, "lastName"));
+        patient.setEmail(text(record, "email"));
+        patient.setPhone(text(record, "phone"));
+        patient.setGender(text(record, "gender"));
+        patient.setNotes(text(record, "notes"));
+        patient.setMedicalHistory(list(record, "medicalHistory"));
+        patient.setAllergies(list(record, "allergies"));
+
+        String dateOfBirth = text(record, "dateOfBirth");
+        String lastVisit = text(record, "lastVisit");
+        String totalVisits = text(record, "totalVisits");
+        try {
+            patient.setDateOfBirth(dateOfBirth != null ? LocalDate.parse(dateOfBirth) : null);
+            patient.setLastVisit(lastVisit != null ? LocalDateTime.parse(lastVisit) : null);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + e.getParsedString());
+        }
+        if (totalVisits != null) {
+            try {
+                patient.setTotalVisits(Integer.valueOf(totalVisits));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid totalVisits: " + totalVisits);
+            }
+        }
+
+        String street = text(record, "street");
+        String city = text(record, "city");
+        String state = text(record, "state");
+        String zipCode = text(record, "zipCode");
+        if (street != null || city != null || state != null || zipCode != null) {
+            Address address = new Address();
+            address.setStreet(street);
+            address.setCity(city);
+            address.setState(state);
+            address.setZipCode(zipCode);
+            patient.setAddress(address);
+        }
+
+        String contactName = text(record, "emergencyContactName");
+        String contactPhone = text(record, "emergencyContactPhone");
+        if (contactName != null || contactPhone != null) {
+            EmergencyContact contact = new EmergencyContact();
+            contact.setName(contactName);
+            contact.setPhone(contactPhone);
+            contact.setRelationship(text(record, "emergencyContactRelationship"));
+            patient.setEmergencyContact(contact);
+        }
+        return patient;
+    }
+
+    private String text(List<String> record, String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        // Undo the formula guard the export puts in front of =, +, - and @
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            value = value.substring(1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> list(List<String> record, String column) {
+        String value = text(record, column);
+        List<String> values = new ArrayList<>();
+        if (value != null) {
+            Arrays.stream(value.split(";"))
+                    .map(String::trim)
+                    .filter(part -> !part.isEmpty())
+                    .forEach(values::add);
+        }
+        return values;
+    }
+
+    // Returns null at end of input; blank lines are skipped
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (fields.isEmpty() && field.length() == 0) {
+                    any = false;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IOException("Unterminated quoted field at end of input");
+        }
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,379 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.Patient;
+import com.sai.dental.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over patient first name, last name, email and phone.
+ * Queries of three or more characters are answered by intersecting trigram postings;
+ * shorter queries read postings of the one- and two-character substrings and field
+ * prefixes. Candidates are always verified against the stored fields, so results
+ * match the old LIKE '%term%' semantics, and only the best {@code limit} are kept.
+ */
+@Component
+public class PatientSearchIndex {
+
+    private static final int GRAM = 3;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+    // Every one- and two-character substring, and separately the one- and two-character field prefixes
+    private final Map<String, Set<Long>> shortGrams = new HashMap<>();
+    private final Map<String, Set<Long>> prefixes = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            // Read under the lock: a patient indexed between the read and the clear would otherwise be lost
+            List<Object[]> rows = patientRepository.findSearchFields();
+            entries.clear();
+            trigrams.clear();
+            shortGrams.clear();
+            prefixes.clear();
+            for (Object[] row : rows) {
+                add(new Entry((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Patient patient) {
+        if (patient == null || patient.getId() == null) {
+            return;
+        }
+        Entry entry = new Entry(patient.getId(), patient.getFirstName(), patient.getLastName(),
+                patient.getEmail(), patient.getPhone());
+        lock.writeLock().lock();
+        try {
+            remove(entry.id);
+            add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(Long id) {
+        lock.writeLock().lock();
+        try {
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of matching patients, best match first, at most {@code limit} of them.
+     */
+    public List<Long> search(String searchTerm, int limit) {
+        String term = normalize(searchTerm);
+        if (term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String digits = digitsOnly(term);
+
+        lock.readLock().lock();
+        try {
+            TopHits top = new TopHits(limit);
+            if (term.length() >= GRAM) {
+                Set<Long> candidates = trigramCandidates(term);
+                if (digits.length() >= GRAM && !digits.equals(term)) {
+                    candidates = union(candidates, trigramCandidates(digits));
+                }
+                for (Long id : candidates) {
+                    offer(top, id, term, digits);
+                }
+                return top.ids();
+            }
+
+            // A prefix match always outscores a match further inside a field, so the much larger
+            // substring postings are only read when the prefix matches do not fill the page
+            Set<Long> scored = new HashSet<>();
+            for (Set<Long> ids : postings(prefixes, term, digits)) {
+                for (Long id : ids) {
+                    if (scored.add(id)) {
+                        offer(top, id, term, digits);
+                    }
+                }
+            }
+            if (top.size() < limit) {
+                for (Set<Long> ids : postings(shortGrams, term, digits)) {
+                    for (Long id : ids) {
+                        if (scored.add(id)) {
+                            offer(top, id, term, digits);
+                        }
+                    }
+                }
+            }
+            return top.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void offer(TopHits top, Long id, String term, String digits) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            top.offer(entry, entry.score(term, digits));
+        }
+    }
+
+    // Phone numbers are indexed as digits, so "+9" also looks up what was stored under "9"
+    private static List<Set<Long>> postings(Map<String, Set<Long>> index, String term, String digits) {
+        List<Set<Long>> postings = new ArrayList<>(2);
+        postings.add(index.getOrDefault(term, Set.of()));
+        if (!digits.isEmpty() && !digits.equals(term)) {
+            postings.add(index.getOrDefault(digits, Set.of()));
+        }
+        return postings;
+    }
+
+    private Set<Long> trigramCandidates(String term) {
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : grams(term)) {
+            Set<Long> posting = trigrams.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            postings.add(posting);
+        }
+        // Intersect starting from the rarest trigram to keep the working set small
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private Set<Long> union(Set<Long> left, Set<Long> right) {
+        if (right.isEmpty()) {
+            return left;
+        }
+        Set<Long> result = new HashSet<>(left);
+        result.addAll(right);
+        return result;
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.id, entry);
+        addPostings(trigrams, entry.grams(), entry.id);
+        addPostings(shortGrams, entry.shortGrams(), entry.id);
+        addPostings(prefixes, entry.prefixes(), entry.id);
+    }
+
+    private static void addPostings(Map<String, Set<Long>> postings, Set<String> keys, Long id) {
+        for (String key : keys) {
+            postings.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : entry.grams()) {
+            removePosting(trigrams, gram, id);
+        }
+        for (String gram : entry.shortGrams()) {
+            removePosting(shortGrams, gram, id);
+        }
+        for (String prefix : entry.prefixes()) {
+            removePosting(prefixes, prefix, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, value, GRAM);
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String value, int length) {
+        for (int i = 0; i + length <= value.length(); i++) {
+            grams.add(value.substring(i, i + length));
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String digitsOnly(String value) {
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static final class Entry {
+        final Long id;
+        final String firstName;
+        final String lastName;
+        final String email;
+        final String phone;
+        final String sortKey;
+
+        Entry(Long id, String firstName, String lastName, String email, String phone) {
+            this.id = id;
+            this.firstName = normalize(firstName);
+            this.lastName = normalize(lastName);
+            this.email = normalize(email);
+            this.phone = digitsOnly(normalize(phone));
+            this.sortKey = this.lastName + " " + this.firstName;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            grams.addAll(PatientSearchIndex.grams(firstName));
+            grams.addAll(PatientSearchIndex.grams(lastName));
+            grams.addAll(PatientSearchIndex.grams(email));
+            grams.addAll(PatientSearchIndex.grams(phone));
+            return grams;
+        }
+
+        Set<String> shortGrams() {
+            Set<String> grams = new HashSet<>();
+            for (String field : fields()) {
+                for (int length = 1; length < GRAM; length++) {
+                    addGrams(grams, field, length);
+                }
+            }
+            return grams;
+        }
+
+        Set<String> prefixes() {
+            Set<String> prefixes = new HashSet<>();
+            for (String field : fields()) {
+                for (int length = 1; length < GRAM && length <= field.length(); length++) {
+                    prefixes.add(field.substring(0, length));
+                }
+            }
+            return prefixes;
+        }
+
+        private String[] fields() {
+            return new String[] {firstName, lastName, email, phone};
+        }
+
+        int score(String term, String digits) {
+            int score = Math.max(fieldScore(firstName, term, 3), fieldScore(lastName, term, 3));
+            score = Math.max(score, fieldScore(email, term, 2));
+            if (!digits.isEmpty()) {
+                score = Math.max(score, fieldScore(phone, digits, 2));
+            }
+            return score;
+        }
+
+        private static int fieldScore(String field, String term, int weight) {
+            if (field.isEmpty()) {
+                return 0;
+            }
+            if (field.equals(term)) {
+                return 100 * weight;
+            }
+            if (field.startsWith(term)) {
+                return 50 * weight;
+            }
+            if (field.contains(term)) {
+                return 10 * weight;
+            }
+            return 0;
+        }
+    }
+
+    // Keeps the best {@code limit} hits in a heap with the weakest on top, instead of sorting every match
+    private static final class TopHits {
+        private final int limit;
+        private final PriorityQueue<Hit> weakestFirst = new PriorityQueue<>(Hit.ORDER.reversed());
+
+        TopHits(int limit) {
+            this.limit = limit;
+        }
+
+        void offer(Entry entry, int score) {
+            if (score <= 0) {
+                return;
+            }
+            Hit hit = new Hit(entry, score);
+            if (weakestFirst.size() < limit) {
+                weakestFirst.add(hit);
+            } else if (Hit.ORDER.compare(hit, weakestFirst.peek()) < 0) {
+                weakestFirst.poll();
+                weakestFirst.add(hit);
+            }
+        }
+
+        int size() {
+            return weakestFirst.size();
+        }
+
+        List<Long> ids() {
+            List<Hit> hits = new ArrayList<>(weakestFirst);
+            hits.sort(Hit.ORDER);
+            List<Long> ids = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                ids.add(hit.entry.id);
+            }
+            return ids;
+        }
+    }
+
+    private static final class Hit {
+        static final Comparator<Hit> ORDER = Comparator.<Hit>comparingInt(hit -> -hit.score)
+                .thenComparing(hit -> hit.entry.sortKey)
+                .thenComparing(hit -> hit.entry.id);
+
+        final Entry entry;
+        final int score;
+
+        Hit(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
@@ -1,33 +1,269 @@
 package com.sai.dental.service;
 
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.sai.dental.dto.BulkImportResult;
+import com.sai.dental.dto.ChangeEvent;
+import com.sai.dental.dto.PatientCursor;
+import com.sai.dental.dto.PatientPage;
+import com.sai.dental.dto.PatientSummary;
 import com.sai.dental.entity.Patient;
 import com.sai.dental.repository.PatientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class PatientService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int DEFAULT_SEARCH_LIMIT = 50;
+
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private PatientSearchIndex patientSearchIndex;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Patient> getAllPatients() {
         return patientRepository.findAllOrderByRegistrationDateDesc();
     }
 
+    @Transactional(readOnly = true)
+    public PatientPage getPatientPage(String cursor, int size, Set<String> expand) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<PatientSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = patientRepository.findSummaryFirstPage(limit);
+        } else {
+            PatientCursor position = PatientCursor.decode(cursor);
+            rows = patientRepository.findSummaryPageAfter(position.getRegistrationDate(), position.getId(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PatientSummary> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        if (!items.isEmpty() && expand != null && !expand.isEmpty()) {
+            expandCollections(items, expand);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            PatientSummary last = items.get(items.size() - 1);
+            nextCursor = new PatientCursor(last.getRegistrationDate(), last.getId()).encode();
+        }
+        return new PatientPage(items, nextCursor, hasMore);
+    }
+
+    private void expandCollections(List<PatientSummary> items, Set<String> expand) {
+        List<Long> ids = items.stream().map(PatientSummary::getId).collect(Collectors.toList());
+
+        if (expand.contains("medicalHistory")) {
+            Map<Long, List<String>> byPatient = groupByPatient(patientRepository.findMedicalHistoryByPatientIds(ids));
+            items.forEach(item -> item.setMedicalHistory(byPatient.getOrDefault(item.getId(), new ArrayList<>())));
+        }
+        if (expand.contains("allergies")) {
+            Map<Long, List<String>> byPatient = groupByPatient(patientRepository.findAllergiesByPatientIds(ids));
+            items.forEach(item -> item.setAllergies(byPatient.getOrDefault(item.getId(), new ArrayList<>())));
+        }
+    }
+
+    private Map<Long, List<String>> groupByPatient(List<Object[]> rows) {
+        Map<Long, List<String>> byPatient = new HashMap<>();
+        for (Object[] row : rows) {
+            byPatient.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return byPatient;
+    }
+
     public Optional<Patient> getPatientById(Long id) {
         return patientRepository.findById(id);
     }
 
     public Patient savePatient(Patient patient) {
-        if (patient.getId() == null) {
+        boolean isNew = patient.getId() == null;
+        if (isNew) {
             patient.setRegistrationDate(LocalDateTime.now());
         }
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        patientSearchIndex.index(saved);
+        dashboardService.invalidate();
+        changeFeed.publish(ChangeEvent.PATIENT, isNew ? ChangeEvent.CREATED : ChangeEvent.UPDATED, saved.getId(), saved);
+        return saved;
+    }
+
+    public BulkImportResult savePatientsInBulk(Iterator<Patient> patients, int chunkSize) {
+        BulkImportResult result = new BulkImportResult();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Existing contacts are loaded once; later rows in the same upload are checked against earlier ones too
+        Set<String> knownEmails = new HashSet<>();
+        Set<String> knownPhones = new HashSet<>();
+        for (Object[] row : patientRepository.findContactKeys()) {
+            addIfPresent(knownEmails, emailKey((String) row[0]));
+            addIfPresent(knownPhones, phoneKey((String) row[1]));
+        }
+        List<Patient> chunk = new ArrayList<>(chunkSize);
+        List<Integer> positions = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        while (true) {
+            Patient patient;
+            int position = index;
+            try {
+                if (!patients.hasNext()) {
+                    break;
+                }
+                index++;
+                result.recordReceived();
+                patient = patients.next();
+            } catch (IllegalArgumentException | RuntimeJsonMappingException e) {
+                // A bad value spoils only its own record; the reader resumes at the next one
+                result.recordFailure(position, null, e.getMessage());
+                continue;
+            } catch (RuntimeException e) {
+                // The rest of the stream cannot be read; keep what was already committed
+                result.recordFailure(position, null, "Unreadable input: " + e.getMessage());
+                break;
+            }
+
+            patient.setId(null);
+            patient.setRegistrationDate(LocalDateTime.now());
+            Set<ConstraintViolation<Patient>> violations = validator.validate(patient);
+            if (!violations.isEmpty()) {
+                result.recordFailure(position, reference(patient), violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            String email = emailKey(patient.getEmail());
+            String phone = phoneKey(patient.getPhone());
+            if (knownEmails.contains(email)) {
+                result.recordFailure(position, reference(patient), "Duplicate email " + patient.getEmail());
+                continue;
+            }
+            if (phone != null && knownPhones.contains(phone)) {
+                result.recordFailure(position, reference(patient), "Duplicate phone " + patient.getPhone());
+                continue;
+            }
+            knownEmails.add(email);
+            addIfPresent(knownPhones, phone);
+
+            chunk.add(patient);
+            positions.add(position);
+            if (chunk.size() >= chunkSize) {
+                persistChunk(transaction, chunk, positions, result, knownEmails, knownPhones);
+                chunk.clear();
+                positions.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(transaction, chunk, positions, result, knownEmails, knownPhones);
+        }
+        dashboardService.invalidate();
+        if (result.getCreated() > 0) {
+            changeFeed.publishBulk(ChangeEvent.PATIENT, ChangeEvent.IMPORTED, null, Map.of("created", result.getCreated()));
+        }
+        return result;
+    }
+
+    private void persistChunk(TransactionTemplate transaction, List<Patient> chunk, List<Integer> positions,
+                              BulkImportResult result, Set<String> knownEmails, Set<String> knownPhones) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                patientRepository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            chunk.forEach(patientSearchIndex::index);
+            result.recordCreated(chunk.size());
+        } catch (RuntimeException chunkFailure) {
+            // Retry row by row so one bad patient does not sink the rest of its chunk
+            for (int i = 0; i < chunk.size(); i++) {
+                Patient patient = chunk.get(i);
+                patient.setId(null);
+                try {
+                    transaction.executeWithoutResult(status -> patientRepository.save(patient));
+                    patientSearchIndex.index(patient);
+                    result.recordCreated(1);
+                } catch (RuntimeException e) {
+                    result.recordFailure(positions.get(i), reference(patient),
+                            NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    // The row was never stored, so a later row with the same contact is not a duplicate of it
+                    knownEmails.remove(emailKey(patient.getEmail()));
+                    String phone = phoneKey(patient.getPhone());
+                    if (phone != null) {
+                        knownPhones.remove(phone);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String reference(Patient patient) {
+        if (patient.getEmail() != null) {
+            return patient.getEmail();
+        }
+        return (patient.getFirstName() + " " + patient.getLastName()).trim();
+    }
+
+    static String emailKey(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Compares on the last ten digits so "+91 98765 43210" and "9876543210" match
+    static String phoneKey(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.isEmpty()) {
+            return null;
+        }
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+
+    private static void addIfPresent(Set<String> keys, String key) {
+        if (key != null) {
+            keys.add(key);
+        }
     }
 
     public Patient updatePatient(Long id, Patient patientDetails) {
@@ -53,17 +289,41 @@ public class PatientService {
                     if (patientDetails.getTotalVisits() != null) {
                         patient.setTotalVisits(patientDetails.getTotalVisits());
                     }
-                    return patientRepository.save(patient);
+                    Patient saved = patientRepository.save(patient);
+                    patientSearchIndex.index(saved);
+                    dashboardService.invalidate();
+                    changeFeed.publish(ChangeEvent.PATIENT, ChangeEvent.UPDATED, saved.getId(), saved);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Patient not found with id " + id));
     }
 
     public void deletePatient(Long id) {
         patientRepository.deleteById(id);
+        patientSearchIndex.delete(id);
+        dashboardService.invalidate();
+        changeFeed.publish(ChangeEvent.PATIENT, ChangeEvent.DELETED, id, null);
     }
 
     public List<Patient> searchPatients(String searchTerm) {
-        return patientRepository.searchPatients(searchTerm);
+        return searchPatients(searchTerm, DEFAULT_SEARCH_LIMIT);
+    }
+
+    public List<Patient> searchPatients(String searchTerm, int limit) {
+        List<Long> rankedIds = patientSearchIndex.search(searchTerm, Math.min(limit, MAX_PAGE_SIZE));
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Patient> byId = patientRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Patient::getId, patient -> patient));
+        List<Patient> results = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            Patient patient = byId.get(id);
+            if (patient != null) {
+                results.add(patient);
+            }
+        }
+        return results;
     }
 
     public Optional<Patient> findByEmail(String email) {
@@ -1,10 +1,14 @@
 package com.sai.dental.service;
 
+import com.sai.dental.dto.ChangeEvent;
 import com.sai.dental.entity.Payment;
+import com.sai.dental.repository.BillRepository;
 import com.sai.dental.repository.PaymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +20,21 @@ public class PaymentService {
     @Autowired
     private PaymentRepository paymentRepository;
 
+    @Autowired
+    private RevenueService revenueService;
+
+    @Autowired
+    private PatientBalanceService patientBalanceService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private BillRepository billRepository;
+
     public List<Payment> getAllPayments() {
         return paymentRepository.findAll();
     }
@@ -24,18 +43,36 @@ public class PaymentService {
         return paymentRepository.findById(id);
     }
 
+    @Transactional
     public Payment savePayment(Payment payment) {
+        if (payment.getId() != null) {
+            // Revenue and balances are incremented by the full amount, so an existing payment must not be saved again
+            throw new IllegalArgumentException("A new payment must not have an id");
+        }
         if (payment.getReference() == null || payment.getReference().isEmpty()) {
             payment.setReference(generatePaymentReference());
         }
         if (payment.getDate() == null) {
             payment.setDate(LocalDateTime.now());
         }
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        revenueService.recordPayment(saved.getDate().toLocalDate(), saved.getAmount());
+        patientBalanceService.paymentAdded(saved);
+        dashboardService.invalidate();
+        changeFeed.publish(ChangeEvent.PAYMENT, ChangeEvent.CREATED, saved.getId(), saved);
+        return saved;
     }
 
+    @Transactional
     public void deletePayment(Long id) {
-        paymentRepository.deleteById(id);
+        Payment payment = paymentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Payment not found with id " + id));
+        paymentRepository.delete(payment);
+        revenueService.reversePayment(payment.getDate().toLocalDate(), payment.getAmount());
+        billRepository.findPatientIdById(payment.getBillId())
+                .ifPresent(patientId -> patientBalanceService.recompute(List.of(patientId)));
+        dashboardService.invalidate();
+        changeFeed.publish(ChangeEvent.PAYMENT, ChangeEvent.DELETED, id, payment);
     }
 
     public List<Payment> getPaymentsByBillId(Long billId) {
@@ -46,8 +83,8 @@ public class PaymentService {
         return paymentRepository.findPaymentsByDateRange(startDate, endDate);
     }
 
-    public Double getTotalPaymentsForDate(LocalDateTime date) {
-        return paymentRepository.getTotalPaymentsForDate(date);
+    public BigDecimal getTotalPaymentsForDate(LocalDateTime date) {
+        return revenueService.getTotalForDate(date.toLocalDate());
     }
 
     private String generatePaymentReference() {
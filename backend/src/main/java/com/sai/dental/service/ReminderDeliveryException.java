@@ -0,0 +1,20 @@
+package com.sai.dental.service;
+
+public class ReminderDeliveryException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public ReminderDeliveryException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public ReminderDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryable = true;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,192 @@
+package com.sai.dental.service;
+
+import com.sai.dental.dto.ChangeEvent;
+import com.sai.dental.dto.ReminderDispatchResult;
+import com.sai.dental.entity.Appointment;
+import com.sai.dental.entity.Patient;
+import com.sai.dental.repository.AppointmentRepository;
+import com.sai.dental.repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ReminderDispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderDispatchService.class);
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ReminderGateway reminderGateway;
+
+    @Autowired
+    private TokenBucketRateLimiter reminderRateLimiter;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    @Qualifier("reminderExecutor")
+    private AsyncTaskExecutor reminderExecutor;
+
+    @Value("${reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reminders.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${reminders.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Value("${reminders.default-country-code:91}")
+    private String defaultCountryCode;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${reminders.cron:0 0 18 * * *}")
+    public void scheduledDispatch() {
+        if (enabled) {
+            ReminderDispatchResult result = dispatchDueReminders();
+            log.info("Reminder run for {}: {} due, {} sent, {} failed", result.getAppointmentDate(),
+                    result.getDue(), result.getSent(), result.getFailed());
+        }
+    }
+
+    public ReminderDispatchResult dispatchDueReminders() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        if (!running.compareAndSet(false, true)) {
+            // A scheduled and a manual run must not send the same reminders twice
+            return new ReminderDispatchResult(tomorrow, 0, 0, 0);
+        }
+        try {
+            List<Appointment> due = appointmentRepository.findAppointmentsForReminder(tomorrow);
+            Map<Long, Patient> patients = loadPatients(due);
+
+            List<Future<Long>> deliveries = new ArrayList<>(due.size());
+            for (Appointment appointment : due) {
+                Patient patient = patients.get(appointment.getPatientId());
+                deliveries.add(reminderExecutor.submit(() -> deliver(appointment, patient) ? appointment.getId() : null));
+            }
+
+            List<Long> sentIds = new ArrayList<>();
+            for (Future<Long> delivery : deliveries) {
+                try {
+                    Long id = delivery.get();
+                    if (id != null) {
+                        sentIds.add(id);
+                    }
+                } catch (ExecutionException e) {
+                    log.warn("Reminder task failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            markSent(sentIds);
+            if (!sentIds.isEmpty()) {
+                changeFeed.publishBulk(ChangeEvent.APPOINTMENT, ChangeEvent.REMINDERS_SENT, sentIds,
+                        Map.of("appointmentDate", tomorrow.toString()));
+            }
+            return new ReminderDispatchResult(tomorrow, due.size(), sentIds.size(), due.size() - sentIds.size());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Appointment sendNow(Long appointmentId) {
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new RuntimeException("Appointment not found with id " + appointmentId));
+        Patient patient = patientRepository.findById(appointment.getPatientId()).orElse(null);
+        if (!deliver(appointment, patient)) {
+            throw new ReminderDeliveryException("Reminder could not be delivered for appointment " + appointmentId, false);
+        }
+        markSent(List.of(appointmentId));
+        Appointment sent = appointmentRepository.findById(appointmentId).orElse(appointment);
+        changeFeed.publish(ChangeEvent.APPOINTMENT, ChangeEvent.UPDATED, appointmentId, sent);
+        return sent;
+    }
+
+    private Map<Long, Patient> loadPatients(List<Appointment> appointments) {
+        List<Long> patientIds = appointments.stream()
+                .map(Appointment::getPatientId)
+                .distinct()
+                .collect(Collectors.toList());
+        return patientRepository.findAllById(patientIds).stream()
+                .collect(Collectors.toMap(Patient::getId, Function.identity()));
+    }
+
+    private boolean deliver(Appointment appointment, Patient patient) {
+        String phone = patient != null ? normalizePhone(patient.getPhone()) : null;
+        if (phone == null) {
+            log.warn("No phone number for appointment {}, reminder skipped", appointment.getId());
+            return false;
+        }
+        long backoff = initialBackoffMs;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                reminderRateLimiter.acquire();
+                reminderGateway.send(appointment, phone);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (RuntimeException e) {
+                boolean retryable = !(e instanceof ReminderDeliveryException) || ((ReminderDeliveryException) e).isRetryable();
+                if (!retryable || attempt == maxAttempts) {
+                    log.warn("Reminder for appointment {} failed after {} attempt(s): {}",
+                            appointment.getId(), attempt, e.getMessage());
+                    return false;
+                }
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff *= 2;
+        }
+        return false;
+    }
+
+    private void markSent(List<Long> ids) {
+        LocalDateTime sentDate = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += UPDATE_BATCH_SIZE) {
+            appointmentRepository.markRemindersSent(ids.subList(from, Math.min(from + UPDATE_BATCH_SIZE, ids.size())),
+                    sentDate);
+        }
+    }
+
+    private String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.isEmpty()) {
+            return null;
+        }
+        return digits.length() == 10 ? defaultCountryCode + digits : digits;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.Appointment;
+
+/**
+ * Outbound channel for appointment reminders. Implementations throw
+ * {@link ReminderDeliveryException} when a message could not be delivered.
+ */
+public interface ReminderGateway {
+
+    void send(Appointment appointment, String recipientPhone);
+}
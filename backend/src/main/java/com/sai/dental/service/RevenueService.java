@@ -0,0 +1,92 @@
+package com.sai.dental.service;
+
+import com.sai.dental.dto.RevenuePoint;
+import com.sai.dental.entity.DailyRevenue;
+import com.sai.dental.repository.DailyRevenueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the daily_revenue rollup so revenue charts read one row per day
+ * instead of scanning payments.
+ */
+@Service
+public class RevenueService {
+
+    @Autowired
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    // Payments can already be upserting day rows here, so the rollup is only rebuilt when it has drifted
+    // (or was never built), and then with set-based upserts instead of a delete and reinsert
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (!dailyRevenueRepository.isStale()) {
+            return;
+        }
+        dailyRevenueRepository.mergeFromPayments();
+        dailyRevenueRepository.deleteDaysWithoutPayments();
+    }
+
+    // Runs inside the caller's transaction so the payment and its rollup commit together
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(LocalDate date, BigDecimal amount) {
+        apply(date, amount, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reversePayment(LocalDate date, BigDecimal amount) {
+        apply(date, amount.negate(), -1);
+    }
+
+    private void apply(LocalDate date, BigDecimal amount, long count) {
+        dailyRevenueRepository.addToDay(date, amount, count);
+    }
+
+    public BigDecimal getTotalForDate(LocalDate date) {
+        return dailyRevenueRepository.findById(date)
+                .map(DailyRevenue::getTotal)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    public List<RevenuePoint> getDailySeries(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, DailyRevenue> byDate = new LinkedHashMap<>();
+        for (DailyRevenue day : dailyRevenueRepository.findByDateBetweenOrderByDate(startDate, endDate)) {
+            byDate.put(day.getDate(), day);
+        }
+        List<RevenuePoint> series = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            DailyRevenue day = byDate.get(date);
+            series.add(day != null
+                    ? new RevenuePoint(date.toString(), day.getTotal(), day.getPaymentCount())
+                    : new RevenuePoint(date.toString(), BigDecimal.ZERO, 0));
+        }
+        return series;
+    }
+
+    public List<RevenuePoint> getMonthlySeries(YearMonth startMonth, YearMonth endMonth) {
+        Map<YearMonth, RevenuePoint> byMonth = new LinkedHashMap<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            byMonth.put(month, new RevenuePoint(month.toString(), BigDecimal.ZERO, 0));
+        }
+        for (DailyRevenue day : dailyRevenueRepository.findByDateBetweenOrderByDate(
+                startMonth.atDay(1), endMonth.atEndOfMonth())) {
+            RevenuePoint point = byMonth.get(YearMonth.from(day.getDate()));
+            point.setTotal(point.getTotal().add(day.getTotal()));
+            point.setPaymentCount(point.getPaymentCount() + day.getPaymentCount());
+        }
+        return new ArrayList<>(byMonth.values());
+    }
+}
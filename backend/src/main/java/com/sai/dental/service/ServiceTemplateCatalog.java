@@ -0,0 +1,140 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.ServiceCategory;
+import com.sai.dental.entity.ServiceTemplate;
+import com.sai.dental.repository.ServiceTemplateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable in-memory copy of the service template catalog. Reads never touch the
+ * database; every write reloads the (small) catalog and swaps the snapshot atomically.
+ */
+@Component
+public class ServiceTemplateCatalog {
+
+    @Autowired
+    private ServiceTemplateRepository serviceTemplateRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    // Serialized so a reload that read the table earlier can never install its snapshot after a later one;
+    // every writer has committed before it reloads, so the last reload to run sees all writes
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        snapshot.set(new Snapshot(serviceTemplateRepository.findAll()));
+    }
+
+    public List<ServiceTemplate> all() {
+        return current().all;
+    }
+
+    public ServiceTemplate byId(Long id) {
+        return current().byId.get(id);
+    }
+
+    public List<ServiceTemplate> byCategory(ServiceCategory category) {
+        return current().byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<ServiceTemplate> search(String name) {
+        return current().search(name);
+    }
+
+    public String etag() {
+        return current().etag;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            reload();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        final List<ServiceTemplate> all;
+        final Map<Long, ServiceTemplate> byId;
+        final Map<ServiceCategory, List<ServiceTemplate>> byCategory;
+        final NavigableMap<String, List<ServiceTemplate>> byNameToken;
+        final String etag;
+
+        Snapshot(List<ServiceTemplate> templates) {
+            List<ServiceTemplate> sorted = new ArrayList<>(templates);
+            sorted.sort(Comparator.comparing(ServiceTemplate::getId));
+            this.all = Collections.unmodifiableList(sorted);
+
+            Map<Long, ServiceTemplate> ids = new HashMap<>();
+            Map<ServiceCategory, List<ServiceTemplate>> categories = new EnumMap<>(ServiceCategory.class);
+            NavigableMap<String, List<ServiceTemplate>> tokens = new TreeMap<>();
+            long hash = 1;
+            for (ServiceTemplate template : sorted) {
+                ids.put(template.getId(), template);
+                categories.computeIfAbsent(template.getCategory(), key -> new ArrayList<>()).add(template);
+                for (String token : tokens(template.getName())) {
+                    tokens.computeIfAbsent(token, key -> new ArrayList<>()).add(template);
+                }
+                hash = 31 * hash + Objects.hash(template.getId(), template.getName(), template.getCategory(),
+                        template.getDefaultPrice(), template.getDescription());
+            }
+            categories.replaceAll((category, list) -> Collections.unmodifiableList(list));
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byCategory = Collections.unmodifiableMap(categories);
+            this.byNameToken = Collections.unmodifiableNavigableMap(tokens);
+            // Derived from content rather than a counter so it survives restarts
+            this.etag = "\"" + Long.toHexString(hash) + "-" + sorted.size() + "\"";
+        }
+
+        List<ServiceTemplate> search(String name) {
+            String term = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+            if (term.isEmpty()) {
+                return all;
+            }
+            Set<ServiceTemplate> matches = new LinkedHashSet<>();
+            for (List<ServiceTemplate> hits : byNameToken.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                matches.addAll(hits);
+            }
+            // Keep the old "name contains" behaviour for terms that start mid-word or span words
+            for (ServiceTemplate template : all) {
+                if (template.getName() != null && template.getName().toLowerCase(Locale.ROOT).contains(term)) {
+                    matches.add(template);
+                }
+            }
+            return List.copyOf(matches);
+        }
+
+        private static List<String> tokens(String name) {
+            List<String> tokens = new ArrayList<>();
+            if (name == null) {
+                return tokens;
+            }
+            String lower = name.toLowerCase(Locale.ROOT);
+            tokens.add(lower);
+            for (String token : lower.split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+            return tokens;
+        }
+    }
+}
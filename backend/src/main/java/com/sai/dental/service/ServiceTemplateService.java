@@ -15,16 +15,25 @@ public class ServiceTemplateService {
     @Autowired
     private ServiceTemplateRepository serviceTemplateRepository;
 
+    @Autowired
+    private ServiceTemplateCatalog serviceTemplateCatalog;
+
     public List<ServiceTemplate> getAllServiceTemplates() {
-        return serviceTemplateRepository.findAll();
+        return serviceTemplateCatalog.all();
     }
 
     public Optional<ServiceTemplate> getServiceTemplateById(Long id) {
-        return serviceTemplateRepository.findById(id);
+        return Optional.ofNullable(serviceTemplateCatalog.byId(id));
+    }
+
+    public String getCatalogVersion() {
+        return serviceTemplateCatalog.etag();
     }
 
     public ServiceTemplate saveServiceTemplate(ServiceTemplate serviceTemplate) {
-        return serviceTemplateRepository.save(serviceTemplate);
+        ServiceTemplate saved = serviceTemplateRepository.save(serviceTemplate);
+        serviceTemplateCatalog.reload();
+        return saved;
     }
 
     public ServiceTemplate updateServiceTemplate(Long id, ServiceTemplate serviceTemplateDetails) {
@@ -34,20 +43,23 @@ public class ServiceTemplateService {
                     template.setCategory(serviceTemplateDetails.getCategory());
                     template.setDefaultPrice(serviceTemplateDetails.getDefaultPrice());
                     template.setDescription(serviceTemplateDetails.getDescription());
-                    return serviceTemplateRepository.save(template);
+                    ServiceTemplate saved = serviceTemplateRepository.save(template);
+                    serviceTemplateCatalog.reload();
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Service template not found with id " + id));
     }
 
     public void deleteServiceTemplate(Long id) {
         serviceTemplateRepository.deleteById(id);
+        serviceTemplateCatalog.reload();
     }
 
     public List<ServiceTemplate> getServiceTemplatesByCategory(ServiceCategory category) {
-        return serviceTemplateRepository.findByCategory(category);
+        return serviceTemplateCatalog.byCategory(category);
     }
 
     public List<ServiceTemplate> searchServiceTemplates(String name) {
-        return serviceTemplateRepository.findByNameContainingIgnoreCase(name);
+        return serviceTemplateCatalog.search(name);
     }
 }
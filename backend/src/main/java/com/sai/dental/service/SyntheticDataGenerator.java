@@ -0,0 +1,527 @@
+package com.sai.dental.service;
+
+import com.sai.dental.config.SequenceAlignment;
+import com.sai.dental.entity.AppointmentStatus;
+import com.sai.dental.entity.AppointmentType;
+import com.sai.dental.entity.BillStatus;
+import com.sai.dental.entity.PaymentMethod;
+import com.sai.dental.entity.ServiceCategory;
+import com.sai.dental.entity.ServiceTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a production-sized data set for local load testing: patients with their
+ * appointments across every {@link AppointmentType}, bills itemised from the service
+ * template catalog, and payments across every {@link PaymentMethod}.
+ *
+ * Output is deterministic for a given seed, end date and catalog. Every patient draws
+ * from its own random stream and its child rows take ids from a fixed block derived from
+ * the patient number, so chunks of patients are generated and written on several threads
+ * in any order without coordinating ids. Rows go in as plain JDBC batches, one
+ * transaction per chunk; the derived stores (balances, revenue, search index) are
+ * rebuilt from them on startup as usual.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Id blocks per patient; appointment counts are capped so child ids never spill into the next block
+    static final int MAX_APPOINTMENTS = 48;
+    private static final int MAX_ITEMS_PER_BILL = 3;
+    private static final int MAX_PAYMENTS_PER_BILL = 2;
+
+    private static final BigDecimal TAX_RATE = BigDecimal.valueOf(0.18);
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String REFERENCE_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private static final String[] MALE_NAMES = {"Rajesh", "Amit", "Vikram", "Suresh", "Rahul", "Arjun", "Sanjay",
+            "Karan", "Anil", "Manoj", "Deepak", "Nikhil", "Rohan", "Sachin", "Ganesh", "Omkar", "Prakash", "Vivek"};
+    private static final String[] FEMALE_NAMES = {"Priya", "Sneha", "Anjali", "Kavita", "Pooja", "Meera", "Divya",
+            "Neha", "Leena", "Sunita", "Aarti", "Swati", "Rutuja", "Shweta", "Madhuri", "Ishita", "Nandini", "Rekha"};
+    private static final String[] LAST_NAMES = {"Kumar", "Sharma", "Patil", "Deshmukh", "Iyer", "Reddy", "Gupta",
+            "Joshi", "Kulkarni", "Nair", "Verma", "Singh", "Mehta", "Rao", "Pawar", "Shah", "Jadhav", "Chavan",
+            "Bhosale", "Menon", "Das", "Banerjee", "Pillai", "Shinde"};
+    private static final String[] DOCTORS = {"Dr. Sai Prasad", "Dr. Snahe Funde", "Dr. Anil Rao", "Dr. Leena Shah",
+            "Dr. Omkar Joshi"};
+    private static final String[] STREETS = {"MG Road", "Brigade Road", "FC Road", "Linking Road", "Park Street",
+            "Anna Salai", "JM Road", "Station Road", "Nehru Nagar", "Shivaji Nagar", "Gandhi Chowk", "Civil Lines"};
+    private static final String[][] CITIES = {
+            {"Pune", "Maharashtra", "4110"}, {"Mumbai", "Maharashtra", "4000"}, {"Nashik", "Maharashtra", "4220"},
+            {"Bangalore", "Karnataka", "5600"}, {"Mysore", "Karnataka", "5700"}, {"Chennai", "Tamil Nadu", "6000"},
+            {"Hyderabad", "Telangana", "5000"}, {"Kochi", "Kerala", "6820"}, {"Delhi", "Delhi", "1100"},
+            {"Kolkata", "West Bengal", "7000"}, {"Ahmedabad", "Gujarat", "3800"}, {"Jaipur", "Rajasthan", "3020"}};
+    private static final String[] RELATIONSHIPS = {"Spouse", "Parent", "Sibling", "Child", "Friend"};
+    private static final String[] CONDITIONS = {"Hypertension", "Diabetes Type 2", "Asthma", "Thyroid disorder",
+            "Heart disease", "Pregnancy", "Anemia"};
+    private static final String[] ALLERGIES = {"Penicillin", "Latex", "Lidocaine", "Ibuprofen", "Sulfa drugs"};
+
+    private static final AppointmentType[] TYPES = AppointmentType.values();
+    private static final int[] TYPE_WEIGHTS = cumulative(TYPES, Map.of(
+            AppointmentType.CONSULTATION, 20, AppointmentType.CLEANING, 25, AppointmentType.FILLING, 15,
+            AppointmentType.EXTRACTION, 7, AppointmentType.ROOT_CANAL, 5, AppointmentType.CROWN, 4,
+            AppointmentType.IMPLANT, 2, AppointmentType.ORTHODONTICS, 4, AppointmentType.EMERGENCY, 3,
+            AppointmentType.FOLLOW_UP, 15));
+    private static final PaymentMethod[] METHODS = PaymentMethod.values();
+    private static final int[] METHOD_WEIGHTS = cumulative(METHODS, Map.of(
+            PaymentMethod.CASH, 30, PaymentMethod.CREDIT_CARD, 20, PaymentMethod.DEBIT_CARD, 20,
+            PaymentMethod.CHECK, 5, PaymentMethod.INSURANCE, 10, PaymentMethod.BANK_TRANSFER, 15));
+
+    private static final String INSERT_PATIENT = "INSERT INTO patients (id, first_name, last_name, email, phone, " +
+            "date_of_birth, gender, address_street, address_city, address_state, address_zip_code, " +
+            "emergency_contact_name, emergency_contact_phone, emergency_contact_relationship, registration_date, " +
+            "last_visit, next_appointment, total_visits, notes, updated_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CONDITION =
+            "INSERT INTO patient_medical_history (patient_id, medical_condition) VALUES (?, ?)";
+    private static final String INSERT_ALLERGY = "INSERT INTO patient_allergies (patient_id, allergy) VALUES (?, ?)";
+    private static final String INSERT_APPOINTMENT = "INSERT INTO appointments (id, patient_id, patient_name, " +
+            "doctor_name, appointment_date, start_time, end_time, start_minute, end_minute, start_at, type, status, " +
+            "duration, notes, created_date, updated_date, reminder_sent, reminder_sent_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BILL = "INSERT INTO bills (id, patient_id, patient_name, appointment_id, " +
+            "bill_number, issue_date, due_date, subtotal, tax, discount, total, status, payment_method, " +
+            "payment_date, notes, created_date, updated_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BILL_ITEM = "INSERT INTO bill_items (id, bill_id, description, category, " +
+            "quantity, unit_price, total) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PAYMENT = "INSERT INTO payments (id, bill_id, amount, method, date, " +
+            "reference, notes) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SequenceAlignment sequenceAlignment;
+
+    @Value("${seed.years:3}")
+    private int years;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.end-date:}")
+    private String endDate;
+
+    @Value("${seed.threads:0}")
+    private int threads;
+
+    @Value("${seed.chunk-size:1000}")
+    private int chunkSize;
+
+    public void generate(int patients, List<ServiceTemplate> catalog) {
+        if (catalog.isEmpty()) {
+            throw new IllegalStateException("The service template catalog is empty; bills need templates");
+        }
+        long started = System.nanoTime();
+        LocalDate today = endDate.isBlank() ? LocalDate.now() : LocalDate.parse(endDate);
+        Plan plan = new Plan(today, Math.max(1, years), catalog, maxId("patients"), maxId("appointments"),
+                maxId("bills"), maxId("bill_items"), maxId("payments"));
+        int workers = threads > 0 ? threads : Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        log.info("Seeding {} patients over {} year(s) to {} on {} thread(s)", patients, plan.years, today, workers);
+
+        Counts totals = new Counts();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Counts>> chunks = new ArrayList<>();
+            for (int from = 0; from < patients; from += chunkSize) {
+                int start = from;
+                int end = Math.min(from + chunkSize, patients);
+                chunks.add(executor.submit(() -> {
+                    Chunk chunk = generateChunk(plan, start, end);
+                    transaction.executeWithoutResult(status -> chunk.write(jdbcTemplate));
+                    return chunk.counts;
+                }));
+            }
+            int done = 0;
+            for (Future<Counts> chunk : chunks) {
+                totals.add(chunk.get());
+                if (++done % 50 == 0) {
+                    log.info("Seeded {} of {} patients", Math.min((long) done * chunkSize, patients), patients);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        restartIdentity("appointments");
+        restartIdentity("payments");
+        sequenceAlignment.alignAll();
+        long seconds = Math.max(1, (System.nanoTime() - started) / 1_000_000_000L);
+        log.info("Seeded {} patients, {} appointments, {} bills, {} bill items, {} payments ({} rows) in {} s",
+                totals.patients, totals.appointments, totals.bills, totals.items, totals.payments,
+                totals.rows(), seconds);
+    }
+
+    private Chunk generateChunk(Plan plan, int from, int to) {
+        Chunk chunk = new Chunk();
+        for (int index = from; index < to; index++) {
+            generatePatient(plan, index, new SplittableRandom(randomSeed + index * 0x9E3779B97F4A7C15L), chunk);
+        }
+        return chunk;
+    }
+
+    private void generatePatient(Plan plan, int index, SplittableRandom random, Chunk chunk) {
+        long patientId = plan.patientBase + index + 1;
+        boolean male = random.nextBoolean();
+        String firstName = pick(random, male ? MALE_NAMES : FEMALE_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String patientName = firstName + " " + lastName;
+        String[] city = pick(random, CITIES);
+
+        // Some patients registered before the seeded window and only their recent history is generated
+        LocalDate windowStart = plan.today.minusYears(plan.years);
+        LocalDate registered = windowStart.minusYears(2).plusDays(random.nextInt((plan.years + 2) * 365 - 7));
+        LocalDate activeFrom = registered.isAfter(windowStart) ? registered : windowStart;
+        long activeDays = Math.max(1, plan.today.toEpochDay() - activeFrom.toEpochDay());
+        double visitsPerYear = random.nextDouble() * 4;
+        int appointments = (int) Math.min(MAX_APPOINTMENTS, Math.round(visitsPerYear * activeDays / 365.0));
+        long[] days = new long[appointments];
+        for (int i = 0; i < appointments; i++) {
+            // Up to a month ahead, so there are upcoming bookings too
+            days[i] = activeFrom.toEpochDay() + random.nextLong(activeDays + 30);
+        }
+        Arrays.sort(days);
+
+        int visits = 0;
+        LocalDateTime lastVisit = null;
+        LocalDateTime nextAppointment = null;
+        for (int k = 0; k < appointments; k++) {
+            LocalDate date = LocalDate.ofEpochDay(days[k]);
+            LocalDateTime at = date.atTime(LocalTime.of(9, 0).plusMinutes(30L * random.nextInt(18)));
+            AppointmentStatus status = appointmentStatus(random, date, plan.today);
+            long appointmentId = plan.appointmentBase + (long) index * MAX_APPOINTMENTS + k + 1;
+            AppointmentType type = weighted(random, TYPES, TYPE_WEIGHTS);
+            addAppointment(chunk, random, plan.today, appointmentId, patientId, patientName, type, status, at);
+            if (status == AppointmentStatus.COMPLETED) {
+                visits++;
+                lastVisit = at;
+                addBill(plan, chunk, random, index, k, appointmentId, patientId, patientName, type, date);
+            } else if (nextAppointment == null && !date.isBefore(plan.today)
+                    && (status == AppointmentStatus.SCHEDULED || status == AppointmentStatus.CONFIRMED)) {
+                nextAppointment = at;
+            }
+        }
+
+        String phone = String.format("+91 9%04d %05d", index / 100_000, index % 100_000);
+        chunk.patients.add(new Object[] {
+                patientId, firstName, lastName,
+                (firstName + "." + lastName + (index + 1) + "@example.com").toLowerCase(Locale.ROOT),
+                phone,
+                LocalDate.of(1940 + random.nextInt(70), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                male ? "Male" : "Female",
+                (1 + random.nextInt(400)) + " " + pick(random, STREETS), city[0], city[1],
+                city[2] + String.format("%02d", random.nextInt(100)),
+                pick(random, random.nextBoolean() ? MALE_NAMES : FEMALE_NAMES) + " " + lastName,
+                String.format("+91 8%04d %05d", random.nextInt(10_000), random.nextInt(100_000)),
+                pick(random, RELATIONSHIPS),
+                registered.atTime(9, 0).plusMinutes(random.nextInt(9 * 60)),
+                lastVisit, nextAppointment, visits, null,
+                lastVisit != null ? lastVisit : registered.atTime(18, 0)
+        });
+        chunk.counts.patients++;
+        if (random.nextInt(4) == 0) {
+            int conditions = 1 + random.nextInt(2);
+            int first = random.nextInt(CONDITIONS.length);
+            for (int i = 0; i < conditions; i++) {
+                chunk.conditions.add(new Object[] {patientId, CONDITIONS[(first + i) % CONDITIONS.length]});
+            }
+        }
+        if (random.nextInt(6) == 0) {
+            chunk.allergies.add(new Object[] {patientId, pick(random, ALLERGIES)});
+        }
+    }
+
+    private void addAppointment(Chunk chunk, SplittableRandom random, LocalDate today, long appointmentId,
+                                long patientId, String patientName, AppointmentType type,
+                                AppointmentStatus status, LocalDateTime at) {
+        int duration = duration(type);
+        boolean reminded = at.toLocalDate().isBefore(today) || random.nextInt(3) == 0;
+        LocalDateTime booked = at.minusDays(1 + random.nextInt(21)).withHour(10);
+        chunk.appointments.add(new Object[] {
+                appointmentId, patientId, patientName, pick(random, DOCTORS), at.toLocalDate(),
+                at.toLocalTime().toString(), at.toLocalTime().plusMinutes(duration).toString(),
+                at.getHour() * 60 + at.getMinute(), at.getHour() * 60 + at.getMinute() + duration, at,
+                type.name(), status.name(), duration, null, booked,
+                status == AppointmentStatus.SCHEDULED ? booked : at.plusMinutes(duration),
+                reminded, reminded ? at.toLocalDate().minusDays(1).atTime(18, 0) : null
+        });
+        chunk.counts.appointments++;
+    }
+
+    private void addBill(Plan plan, Chunk chunk, SplittableRandom random, int patientIndex, int appointmentNumber,
+                         long appointmentId, long patientId, String patientName, AppointmentType type,
+                         LocalDate issueDate) {
+        long billId = plan.billBase + (long) patientIndex * MAX_APPOINTMENTS + appointmentNumber + 1;
+        long itemBase = plan.itemBase
+                + ((long) patientIndex * MAX_APPOINTMENTS + appointmentNumber) * MAX_ITEMS_PER_BILL;
+        long paymentBase = plan.paymentBase
+                + ((long) patientIndex * MAX_APPOINTMENTS + appointmentNumber) * MAX_PAYMENTS_PER_BILL;
+
+        List<ServiceTemplate> lines = new ArrayList<>(MAX_ITEMS_PER_BILL);
+        lines.add(pick(random, plan.templatesFor(type)));
+        if (random.nextInt(3) == 0) {
+            lines.add(pick(random, plan.catalog));
+        }
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < lines.size(); i++) {
+            ServiceTemplate template = lines.get(i);
+            int quantity = template.getCategory() == ServiceCategory.FILLING ? 1 + random.nextInt(2) : 1;
+            BigDecimal unitPrice = template.getDefaultPrice() != null
+                    ? template.getDefaultPrice().setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO.setScale(2);
+            BigDecimal total = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            subtotal = subtotal.add(total);
+            chunk.items.add(new Object[] {itemBase + i + 1, billId, template.getName(), template.getCategory().name(),
+                    quantity, unitPrice, total});
+            chunk.counts.items++;
+        }
+        BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal discount = random.nextInt(10) == 0
+                ? subtotal.multiply(BigDecimal.valueOf(0.05)).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO.setScale(2);
+        BigDecimal total = subtotal.add(tax).subtract(discount);
+
+        LocalDate dueDate = issueDate.plusDays(30);
+        int roll = random.nextInt(100);
+        BillStatus status;
+        BigDecimal paid;
+        if (dueDate.isBefore(plan.today)) {
+            // Paid, overdue with a part payment, overdue and unpaid, or written off
+            status = roll < 85 ? BillStatus.PAID : roll < 97 ? BillStatus.OVERDUE : BillStatus.CANCELLED;
+            paid = roll < 85 ? total : roll < 89 ? partOf(random, total) : BigDecimal.ZERO;
+        } else {
+            status = roll < 50 ? BillStatus.PAID : roll < 65 ? BillStatus.PARTIAL : roll < 95 ? BillStatus.SENT
+                    : BillStatus.DRAFT;
+            paid = roll < 50 ? total : roll < 65 ? partOf(random, total) : BigDecimal.ZERO;
+        }
+
+        PaymentMethod method = null;
+        LocalDateTime paidAt = null;
+        if (paid.signum() > 0) {
+            long latestDay = Math.min(dueDate.toEpochDay(), plan.today.toEpochDay());
+            int payments = status == BillStatus.PAID && random.nextInt(5) == 0 ? 2 : 1;
+            BigDecimal first = payments == 2 ? partOf(random, paid) : paid;
+            BigDecimal[] amounts = payments == 2 ? new BigDecimal[] {first, paid.subtract(first)}
+                    : new BigDecimal[] {paid};
+            LocalDate payDate = issueDate;
+            for (int i = 0; i < amounts.length; i++) {
+                long span = Math.max(1, latestDay - payDate.toEpochDay() + 1);
+                payDate = payDate.plusDays(random.nextLong(Math.min(span, 20)));
+                method = weighted(random, METHODS, METHOD_WEIGHTS);
+                paidAt = payDate.atTime(10 + random.nextInt(8), random.nextInt(60));
+                chunk.payments.add(new Object[] {paymentBase + i + 1, billId, amounts[i], method.name(), paidAt,
+                        reference(random), null});
+                chunk.counts.payments++;
+            }
+        }
+        boolean settled = status == BillStatus.PAID;
+        chunk.bills.add(new Object[] {
+                billId, patientId, patientName, appointmentId,
+                // The S marks seeded numbers so the live INV sequence never collides with them
+                String.format("INV-%s-S%d", issueDate.format(PERIOD_FORMAT), billId),
+                issueDate, dueDate, subtotal, tax, discount, total, status.name(),
+                settled ? method.name() : null, settled ? paidAt : null, null,
+                issueDate.atTime(18, 30), paidAt != null ? paidAt : issueDate.atTime(18, 30)
+        });
+        chunk.counts.bills++;
+    }
+
+    private static AppointmentStatus appointmentStatus(SplittableRandom random, LocalDate date, LocalDate today) {
+        int roll = random.nextInt(100);
+        if (date.isAfter(today)) {
+            return roll < 10 ? AppointmentStatus.CANCELLED
+                    : roll < 55 ? AppointmentStatus.CONFIRMED : AppointmentStatus.SCHEDULED;
+        }
+        return roll < 80 ? AppointmentStatus.COMPLETED
+                : roll < 90 ? AppointmentStatus.CANCELLED
+                : roll < 97 ? AppointmentStatus.NO_SHOW : AppointmentStatus.RESCHEDULED;
+    }
+
+    private static int duration(AppointmentType type) {
+        switch (type) {
+            case FOLLOW_UP:
+                return 15;
+            case FILLING:
+            case EXTRACTION:
+            case ORTHODONTICS:
+                return 45;
+            case CROWN:
+                return 60;
+            case ROOT_CANAL:
+            case IMPLANT:
+                return 90;
+            default:
+                return 30;
+        }
+    }
+
+    private static BigDecimal partOf(SplittableRandom random, BigDecimal amount) {
+        return amount.multiply(BigDecimal.valueOf(30 + random.nextInt(41))).divide(BigDecimal.valueOf(100), 2,
+                RoundingMode.HALF_UP);
+    }
+
+    private static String reference(SplittableRandom random) {
+        StringBuilder reference = new StringBuilder("PAY-");
+        for (int i = 0; i < 9; i++) {
+            reference.append(REFERENCE_CHARS.charAt(random.nextInt(REFERENCE_CHARS.length())));
+        }
+        return reference.toString();
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static <T> T weighted(SplittableRandom random, T[] values, int[] cumulativeWeights) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static <T> int[] cumulative(T[] values, Map<T, Integer> weights) {
+        int[] cumulative = new int[values.length];
+        int sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            sum += weights.getOrDefault(values[i], 1);
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private void restartIdentity(String table) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (maxId(table) + 1));
+    }
+
+    private static final class Plan {
+        final LocalDate today;
+        final int years;
+        final List<ServiceTemplate> catalog;
+        final Map<ServiceCategory, List<ServiceTemplate>> byCategory = new EnumMap<>(ServiceCategory.class);
+        final long patientBase;
+        final long appointmentBase;
+        final long billBase;
+        final long itemBase;
+        final long paymentBase;
+
+        Plan(LocalDate today, int years, List<ServiceTemplate> catalog, long patientBase, long appointmentBase,
+             long billBase, long itemBase, long paymentBase) {
+            this.today = today;
+            this.years = years;
+            // Sorted so the same catalog always yields the same picks
+            this.catalog = catalog.stream()
+                    .sorted(Comparator.comparing(ServiceTemplate::getId))
+                    .toList();
+            for (ServiceTemplate template : this.catalog) {
+                byCategory.computeIfAbsent(template.getCategory(), key -> new ArrayList<>()).add(template);
+            }
+            this.patientBase = patientBase;
+            this.appointmentBase = appointmentBase;
+            this.billBase = billBase;
+            this.itemBase = itemBase;
+            this.paymentBase = paymentBase;
+        }
+
+        List<ServiceTemplate> templatesFor(AppointmentType type) {
+            ServiceCategory category = type == AppointmentType.FOLLOW_UP
+                    ? ServiceCategory.CONSULTATION : ServiceCategory.valueOf(type.name());
+            List<ServiceTemplate> templates = byCategory.get(category);
+            return templates != null ? templates : catalog;
+        }
+    }
+
+    private static final class Chunk {
+        final List<Object[]> patients = new ArrayList<>();
+        final List<Object[]> conditions = new ArrayList<>();
+        final List<Object[]> allergies = new ArrayList<>();
+        final List<Object[]> appointments = new ArrayList<>();
+        final List<Object[]> bills = new ArrayList<>();
+        final List<Object[]> items = new ArrayList<>();
+        final List<Object[]> payments = new ArrayList<>();
+        final Counts counts = new Counts();
+
+        // Parents before children so foreign keys hold
+        void write(JdbcTemplate jdbcTemplate) {
+            insert(jdbcTemplate, INSERT_PATIENT, patients);
+            insert(jdbcTemplate, INSERT_CONDITION, conditions);
+            insert(jdbcTemplate, INSERT_ALLERGY, allergies);
+            insert(jdbcTemplate, INSERT_APPOINTMENT, appointments);
+            insert(jdbcTemplate, INSERT_BILL, bills);
+            insert(jdbcTemplate, INSERT_BILL_ITEM, items);
+            insert(jdbcTemplate, INSERT_PAYMENT, payments);
+        }
+
+        private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+            }
+        }
+    }
+
+    private static final class Counts {
+        long patients;
+        long appointments;
+        long bills;
+        long items;
+        long payments;
+
+        void add(Counts other) {
+            patients += other.patients;
+            appointments += other.appointments;
+            bills += other.bills;
+            items += other.items;
+            payments += other.payments;
+        }
+
+        long rows() {
+            return patients + appointments + bills + items + payments;
+        }
+    }
+}
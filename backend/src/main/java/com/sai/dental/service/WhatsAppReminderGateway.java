@@ -0,0 +1,100 @@
+package com.sai.dental.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sai.dental.entity.Appointment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "reminders.gateway", havingValue = "whatsapp", matchIfMissing = true)
+public class WhatsAppReminderGateway implements ReminderGateway {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${whatsapp.api-url:https://graph.facebook.com/v18.0}")
+    private String apiUrl;
+
+    @Value("${whatsapp.phone-number-id:}")
+    private String phoneNumberId;
+
+    @Value("${whatsapp.access-token:}")
+    private String accessToken;
+
+    @Value("${whatsapp.template-name:appointment_reminder}")
+    private String templateName;
+
+    @Value("${clinic.name:Sai Dental Care}")
+    private String clinicName;
+
+    // One client for the whole application so connections are kept alive and reused
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Override
+    public void send(Appointment appointment, String recipientPhone) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + "/" + phoneNumberId + "/messages"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + accessToken)
+                .POST(HttpRequest.BodyPublishers.ofString(buildBody(appointment, recipientPhone)))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status >= 300) {
+                throw new ReminderDeliveryException("WhatsApp API returned " + status + ": " + response.body(),
+                        status == 429 || status >= 500);
+            }
+        } catch (IOException e) {
+            throw new ReminderDeliveryException("WhatsApp API call failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReminderDeliveryException("Interrupted while sending reminder", false);
+        }
+    }
+
+    private String buildBody(Appointment appointment, String recipientPhone) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("messaging_product", "whatsapp");
+        body.put("to", recipientPhone);
+        body.put("type", "template");
+
+        String when = appointment.getAppointmentDate().format(DATE_FORMAT) + " " + appointment.getStartTime();
+        Map<String, Object> component = new HashMap<>();
+        component.put("type", "body");
+        component.put("parameters", List.of(
+                Map.of("type", "text", "text", appointment.getPatientName()),
+                Map.of("type", "text", "text", when),
+                Map.of("type", "text", "text", clinicName)));
+
+        Map<String, Object> template = new HashMap<>();
+        template.put("name", templateName);
+        template.put("language", Map.of("code", "en_US"));
+        template.put("components", List.of(component));
+        body.put("template", template);
+
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new ReminderDeliveryException("Could not build reminder message", false);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+-- Indexes matched to the repository finders. IF NOT EXISTS because databases created before
+-- migrations were introduced already have the indexes that used to be declared on the entities.
+
+-- AppointmentRepository
+-- findByAppointmentDate, date ranges, conflict checks, countByStatusForDate, updateStatusForDate
+CREATE INDEX IF NOT EXISTS idx_appointments_date_status ON appointments (appointment_date, status);
+-- findByPatientId
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_date ON appointments (patient_id, appointment_date);
+-- findByStatus
+CREATE INDEX IF NOT EXISTS idx_appointments_status_date ON appointments (status, appointment_date);
+-- findAppointmentsForReminder
+CREATE INDEX IF NOT EXISTS idx_appointments_reminder_date ON appointments (reminder_sent, appointment_date);
+
+-- BillRepository
+-- findByStatus, findOverdueBills, summarizeOverdueBills, markOverdue
+CREATE INDEX IF NOT EXISTS idx_bills_status_due_date ON bills (status, due_date);
+-- findByPatientId, sumBilledByPatient
+CREATE INDEX IF NOT EXISTS idx_bills_patient_issue_date ON bills (patient_id, issue_date);
+-- findBillsByDateRange, countBillsForDate, streamBillsWithItemsForExport
+CREATE INDEX IF NOT EXISTS idx_bills_issue_date ON bills (issue_date);
+-- findByAppointmentId
+CREATE INDEX IF NOT EXISTS idx_bills_appointment_id ON bills (appointment_id);
+
+-- PaymentRepository
+-- findByBillId and the payment-to-bill joins
+CREATE INDEX IF NOT EXISTS idx_payments_bill_date ON payments (bill_id, date);
+-- findPaymentsByDateRange, getTotalPaymentsForDate, streamPaymentsForExport
+CREATE INDEX IF NOT EXISTS idx_payments_date ON payments (date);
+
+-- Keyset paging of patients and the outstanding-balance listing
+CREATE INDEX IF NOT EXISTS idx_patients_registration_date_id ON patients (registration_date, id);
+CREATE INDEX IF NOT EXISTS idx_patient_balances_outstanding ON patient_balances (outstanding);
@@ -0,0 +1,8 @@
+-- Numeric start times for appointments. Hibernate adds the start_minute, end_minute and
+-- start_at columns before this runs; existing rows are filled in online, in batches, by
+-- AppointmentScheduleBackfill rather than by one long UPDATE here.
+
+-- findAppointmentsInDateRange (ordered range scan), findCalendarRows, findByAppointmentDate (interval index day loads)
+CREATE INDEX IF NOT EXISTS idx_appointments_date_start_minute ON appointments (appointment_date, start_minute);
+-- Backfill progress: rows still missing their typed start time
+CREATE INDEX IF NOT EXISTS idx_appointments_start_minute_id ON appointments (start_minute, id);
@@ -0,0 +1,47 @@
+package com.sai.dental.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scrapes /actuator/prometheus over HTTP the way a local Prometheus would and checks
+ * the series the dashboards and alerts rely on are exported.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Spring Boot tests replace the Prometheus registry with a simple one unless asked not to
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void exposesRequestRepositoryHibernatePoolAndGcSeries() {
+        // One API call so the request and repository timers have samples
+        assertThat(restTemplate.getForEntity("/api/patients", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getHeaders().getContentType()).isNotNull();
+        assertThat(scrape.getHeaders().getContentType().toString())
+                .startsWith("text/plain")
+                .contains("version=0.0.4");
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket")
+                .contains("spring_data_repository_invocations_seconds")
+                .contains("hibernate_")
+                .contains("hikaricp_connections")
+                .contains("jvm_gc_");
+    }
+}
@@ -0,0 +1,114 @@
+package com.sai.dental.controller;
+
+import com.sai.dental.config.SqlStatementCounter;
+import com.sai.dental.entity.Bill;
+import com.sai.dental.entity.BillItem;
+import com.sai.dental.entity.BillStatus;
+import com.sai.dental.entity.ServiceCategory;
+import com.sai.dental.repository.BillRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails the build when a bill list endpoint goes back to loading items per bill. Each
+ * endpoint should need one query however many bills it returns; an N+1 over the bills
+ * seeded here needs at least BILLS + 1 statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BillControllerSqlBudgetTest {
+
+    private static final int BILLS = 8;
+    private static final int ITEMS_PER_BILL = 3;
+    private static final long PATIENT_ID = 990_001L;
+    // One query plus headroom for a count or cache lookup, well below an N+1
+    private static final int MAX_STATEMENTS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @BeforeAll
+    void seedBills() {
+        LocalDate today = LocalDate.now();
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < BILLS; i++) {
+            Bill bill = new Bill();
+            bill.setPatientId(PATIENT_ID);
+            bill.setPatientName("Budget Test");
+            bill.setBillNumber("SQL-BUDGET-" + i);
+            bill.setIssueDate(today.minusDays(40 + i));
+            // Half are past due so /overdue returns several bills too
+            bill.setDueDate(i % 2 == 0 ? today.minusDays(10) : today.plusDays(10));
+            bill.setStatus(BillStatus.SENT);
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int j = 0; j < ITEMS_PER_BILL; j++) {
+                BillItem item = new BillItem();
+                item.setDescription("Item " + j);
+                item.setCategory(ServiceCategory.CLEANING);
+                item.setQuantity(1);
+                item.setUnitPrice(BigDecimal.valueOf(500 + j));
+                item.setTotal(BigDecimal.valueOf(500 + j));
+                bill.addItem(item);
+                subtotal = subtotal.add(item.getTotal());
+            }
+            bill.setSubtotal(subtotal);
+            bill.setTax(BigDecimal.ZERO);
+            bill.setDiscount(BigDecimal.ZERO);
+            bill.setTotal(subtotal);
+            bills.add(bill);
+        }
+        billRepository.saveAll(bills);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/bills",
+            "/api/bills/patient/" + PATIENT_ID,
+            "/api/bills/status/SENT",
+            "/api/bills/overdue"
+    })
+    void listEndpointStaysWithinStatementBudget(String url) throws Exception {
+        assertWithinBudget(url);
+    }
+
+    @Test
+    void dateRangeStaysWithinStatementBudget() throws Exception {
+        LocalDate today = LocalDate.now();
+        assertWithinBudget("/api/bills/date-range?startDate=" + today.minusDays(60) + "&endDate=" + today);
+    }
+
+    private void assertWithinBudget(String url) throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.patientId == " + PATIENT_ID + ")].items[*]").isNotEmpty());
+        int statements = SqlStatementCounter.current();
+        SqlStatementCounter.clear();
+        assertThat(statements)
+                .as("SQL statements for GET %s", url)
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
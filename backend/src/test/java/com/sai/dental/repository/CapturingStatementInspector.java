@@ -0,0 +1,27 @@
+package com.sai.dental.repository;
+
+import com.sai.dental.config.SqlStatementCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the SQL Hibernate prepares on the current thread, so tests can look at the
+ * statements a finder really runs rather than a hand-written copy of them.
+ */
+public class CapturingStatementInspector extends SqlStatementCounter {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return super.inspect(sql);
+    }
+
+    public static List<String> drain() {
+        List<String> statements = List.copyOf(STATEMENTS.get());
+        STATEMENTS.get().clear();
+        return statements;
+    }
+}
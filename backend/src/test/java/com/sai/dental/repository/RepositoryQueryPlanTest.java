@@ -0,0 +1,174 @@
+package com.sai.dental.repository;
+
+import com.sai.dental.entity.AppointmentStatus;
+import com.sai.dental.entity.BillStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.AbstractStringAssert;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs H2's EXPLAIN over the SQL Hibernate generates for each finder and checks it reads
+ * through the index created for it in db/migration. Seeds a synthetic data set first so
+ * the optimizer has real row counts to choose from.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.sai.dental.repository.CapturingStatementInspector",
+        "seed.patients=400",
+        "seed.years=1"
+})
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    // H2 annotates the chosen access path as /* PUBLIC.INDEX_NAME: condition */ or /* PUBLIC.TABLE.tableScan */
+    private static final Pattern ACCESS_PATH = Pattern.compile("/\\*\\s*PUBLIC\\.([\\w.]+)(?::|\\s*\\*/)");
+
+    // Several indexes lead with appointment_date; any of them is a good plan for a date lookup
+    private static final String[] APPOINTMENT_DATE_INDEXES = {
+            "IDX_APPOINTMENTS_DATE_STATUS", "IDX_APPOINTMENTS_DATE_START_MINUTE"};
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void resetCapture() {
+        // Cached query results would skip the SQL we want to look at
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        CapturingStatementInspector.drain();
+    }
+
+    @Test
+    void appointmentsByPatientUsePatientIndex() {
+        appointmentRepository.findByPatientId(1L);
+        assertAccessPath(1L).isEqualTo("IDX_APPOINTMENTS_PATIENT_DATE");
+    }
+
+    @Test
+    void appointmentsByDateUseDateIndex() {
+        appointmentRepository.findByAppointmentDate(today);
+        assertAccessPath(today).isIn((Object[]) APPOINTMENT_DATE_INDEXES);
+    }
+
+    @Test
+    void appointmentsInDateRangeUseDateIndex() {
+        appointmentRepository.findAppointmentsInDateRange(today, today.plusDays(7));
+        assertAccessPath(today, today.plusDays(7)).isIn((Object[]) APPOINTMENT_DATE_INDEXES);
+    }
+
+    @Test
+    void calendarRowsUseDateIndex() {
+        appointmentRepository.findCalendarRows(today, today.plusDays(7));
+        assertAccessPath(today, today.plusDays(7)).isIn((Object[]) APPOINTMENT_DATE_INDEXES);
+    }
+
+    @Test
+    void appointmentsByStatusUseStatusIndex() {
+        appointmentRepository.findByStatus(AppointmentStatus.SCHEDULED);
+        assertAccessPath(AppointmentStatus.SCHEDULED).isEqualTo("IDX_APPOINTMENTS_STATUS_DATE");
+    }
+
+    @Test
+    void remindersDueUseAnIndexOnTheDate() {
+        LocalDate tomorrow = today.plusDays(1);
+        appointmentRepository.findAppointmentsForReminder(tomorrow);
+        assertAccessPath(tomorrow).isIn("IDX_APPOINTMENTS_REMINDER_DATE", "IDX_APPOINTMENTS_DATE_STATUS",
+                "IDX_APPOINTMENTS_DATE_START_MINUTE");
+    }
+
+    @Test
+    void billsByPatientUsePatientIndex() {
+        billRepository.findByPatientId(1L);
+        assertAccessPath(1L).isEqualTo("IDX_BILLS_PATIENT_ISSUE_DATE");
+    }
+
+    @Test
+    void billsByStatusUseStatusIndex() {
+        billRepository.findByStatus(BillStatus.SENT);
+        assertAccessPath(BillStatus.SENT).isEqualTo("IDX_BILLS_STATUS_DUE_DATE");
+    }
+
+    @Test
+    void billsByAppointmentUseAppointmentIndex() {
+        billRepository.findByAppointmentId(1L);
+        assertAccessPath(1L).isEqualTo("IDX_BILLS_APPOINTMENT_ID");
+    }
+
+    @Test
+    void billsInDateRangeUseIssueDateIndex() {
+        billRepository.findBillsByDateRange(today.minusDays(30), today);
+        assertAccessPath(today.minusDays(30), today).isEqualTo("IDX_BILLS_ISSUE_DATE");
+    }
+
+    @Test
+    void billCountForDateUsesIssueDateIndex() {
+        billRepository.countBillsForDate(today);
+        assertAccessPath(today).isEqualTo("IDX_BILLS_ISSUE_DATE");
+    }
+
+    @Test
+    void paymentsByBillUseBillIndex() {
+        paymentRepository.findByBillId(1L);
+        assertAccessPath(1L).isEqualTo("IDX_PAYMENTS_BILL_DATE");
+    }
+
+    @Test
+    void paymentsInDateRangeUseDateIndex() {
+        LocalDateTime end = today.atStartOfDay();
+        paymentRepository.findPaymentsByDateRange(end.minusDays(30), end);
+        assertAccessPath(end.minusDays(30), end).isEqualTo("IDX_PAYMENTS_DATE");
+    }
+
+    @Test
+    void paymentTotalForDateUsesDateIndex() {
+        LocalDateTime start = today.atStartOfDay();
+        paymentRepository.getTotalPaymentsForDate(start);
+        assertAccessPath(start, start.plusDays(1)).isEqualTo("IDX_PAYMENTS_DATE");
+    }
+
+    // Explains the first SELECT the finder ran, with the same arguments bound, and returns the driving table's access path
+    private AbstractStringAssert<?> assertAccessPath(Object... arguments) {
+        String sql = CapturingStatementInspector.drain().stream()
+                .filter(statement -> statement.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("The finder ran no SELECT"));
+        Object[] binds = Arrays.stream(arguments)
+                .map(argument -> argument instanceof Enum<?> value ? value.name() : argument)
+                .toArray();
+        assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("bind parameters in %s", sql)
+                .isEqualTo(binds.length);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, binds);
+        Matcher matcher = ACCESS_PATH.matcher(plan != null ? plan : "");
+        return assertThat(matcher.find() ? matcher.group(1) : null).as("access path in plan%n%s", plan);
+    }
+}
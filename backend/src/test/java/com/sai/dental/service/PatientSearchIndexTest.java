@@ -0,0 +1,79 @@
+package com.sai.dental.service;
+
+import com.sai.dental.entity.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the index finds the same patients LIKE '%term%' did, including terms too short
+ * to have a trigram.
+ */
+class PatientSearchIndexTest {
+
+    private final PatientSearchIndex index = new PatientSearchIndex();
+
+    @BeforeEach
+    void indexPatients() {
+        index.index(patient(1L, "Sanjay", "Kumar", "sanjay.k@example.com", "+91 98765 43210"));
+        index.index(patient(2L, "Anita", "Rao", "anita@example.com", "9123456780"));
+        index.index(patient(3L, "Priya", "Shah", "priya@example.com", "9000011111"));
+    }
+
+    @Test
+    void shortTermMatchesInsideAName() {
+        assertThat(index.search("an", 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void singleCharacterMatchesAnywhere() {
+        assertThat(index.search("y", 10)).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void shortTermRanksPrefixMatchesFirst() {
+        assertThat(index.search("an", 10)).first().isEqualTo(2L);
+    }
+
+    @Test
+    void shortTermStillReachesInnerMatchesWhenPrefixesDoNotFillTheLimit() {
+        assertThat(index.search("an", 1)).containsExactly(2L);
+        assertThat(index.search("an", 2)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void limitKeepsTheBestHitsInOrder() {
+        index.index(patient(4L, "Kumar", "Anand", "kumar.a@example.com", "9555500000"));
+        // Both match a name exactly; equal scores fall back to last name, first name order
+        assertThat(index.search("kumar", 2)).containsExactly(4L, 1L);
+        assertThat(index.search("kumar", 10)).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void shortDigitTermMatchesPhonePrefixes() {
+        assertThat(index.search("90", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void removedPatientIsNoLongerFound() {
+        index.delete(2L);
+        assertThat(index.search("an", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void longTermUsesTrigrams() {
+        assertThat(index.search("njay", 10)).containsExactly(1L);
+        assertThat(index.search("98765", 10)).containsExactly(1L);
+    }
+
+    private static Patient patient(Long id, String firstName, String lastName, String email, String phone) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setFirstName(firstName);
+        patient.setLastName(lastName);
+        patient.setEmail(email);
+        patient.setPhone(phone);
+        return patient;
+    }
+}